@@ -9,21 +9,22 @@
 
 // Imports
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 
 
 // Admin class
 class Admin extends User {
 
-  ArrayList<Classroom> classrooms;
+  LinkedHashSet<Classroom> classrooms;
    
   /*
-  Constructor that calls User's constructor. New classrooms arraylist created
+  Constructor that calls User's constructor. New classrooms set created. It keeps the order classrooms were added in
   @date 1/15/2024
   @parameters String, String, String, String, long
   */
   public Admin(String firstName, String lastName, String username, String password, long id) {
     super(firstName, lastName, username, password, id);
-    classrooms = new ArrayList<Classroom>();
+    classrooms = new LinkedHashSet<Classroom>();
   }
     
   /*
@@ -67,31 +68,31 @@ class Admin extends User {
   }
    
   /*
-  This method gets the ArrayList of Classrooms
+  This method gets the set of Classrooms
   @name getClassrooms
   @date 1/15/2024
   @parameters void
-  @returns ArrayList<Classroom>
+  @returns LinkedHashSet<Classroom>
   */
-  public ArrayList<Classroom> getClassrooms() {
+  public LinkedHashSet<Classroom> getClassrooms() {
     return classrooms;
   }
 
   /*
-  This method adds a classroom to the ArrayList of classrooms for the admin
+  This method adds a classroom to the set of classrooms for the admin
   @name addClassroom
   @date 1/16/2024
   @parameters Classroom
   @returns void
   */
   public void addClassroom(Classroom classroom) {
-  // Add classroom to classrooms if not in classrooms already
-    if (!classrooms.contains(classroom)) classrooms.add(classroom);
+  // Add classroom to classrooms. The set ignores a classroom already in it
+    classrooms.add(classroom);
   }
 
 
   /*
-  This method removes a classroom from the ArrayList of classrooms for the admin
+  This method removes a classroom from the set of classrooms for the admin
   @name deleteClassroom
   @date 1/17/2024
   @parameters Classroom
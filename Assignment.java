@@ -2,7 +2,7 @@
 @file Assignment.java
 @author Ronak Patel
 @date 1/24/2024
-@description This class represents an assignment object. Student objects have assignment objects. A classroom also has assignment objects to track how many assignments are in the classroom. Each assignment has a grade, name, and id.
+@description This class represents an assignment object. A classroom has assignment objects to track how many assignments are in the classroom, and its grade matrix holds each student's grade. Each assignment has a grade, name, and id.
 */
 
 // Assignment class
@@ -65,7 +65,7 @@ public class Assignment {
     grade = keyboard.getDouble("Enter the new grade (decimal) for " + name + " (-1 = ungraded): ");
     
     // Assign grade
-    this.grade = grade;
+    grade(grade);
   }
   
   /*
@@ -99,22 +99,31 @@ public class Assignment {
   */
   public double getAverageGrade(Classroom c) {
     // Variables
-    double ans = 0;
-    int count = 0;
+    GradeMatrix grades = c.getGrades();
+    int column = grades.column(id);
+
+    // Assignment is not in the classroom
+    if (column < 0) return -1;
+
+    // Return average, or -1 if no assignments are graded
+    return grades.columnAverage(column);
+  }
 
-    // For each student in classroom, add their grade to the answer
-    for (Student s : c.getStudents()) {
-      // If assignment is graded
-      if (s.getAssignmentDatabase().searchID(id).getGrade() != -1) {
-        ans += s.getAssignmentDatabase().searchID(id).getGrade();
-        count++;
-      }
-    }
+  /*
+  This method gets the histogram of an assignment's grades in a classroom. It is kept by the classroom, so merge it into a new histogram to combine it with others.
+  @name getHistogram
+  @date 1/24/2024
+  @parameters Classroom
+  @returns GradeHistogram
+  */
+  public GradeHistogram getHistogram(Classroom c) {
+    // Variables
+    GradeMatrix grades = c.getGrades();
+    int column = grades.column(id);
 
-    // If no assignments graded, return -1
-    if (count == 0) return -1;
+    // Assignment is not in the classroom
+    if (column < 0) return new GradeHistogram();
 
-    // Return average
-    return ans/count;
+    return grades.columnHistogram(column);
   }
 }
\ No newline at end of file
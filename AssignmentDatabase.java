@@ -8,7 +8,6 @@
 */
 
 // Imports
-import java.util.ArrayList;
 import java.io.File;
 import java.io.IOException;
 
@@ -16,8 +15,9 @@ import java.io.IOException;
 class AssignmentDatabase {
 
   // Instance variables
-  private ArrayList<Assignment> assignments;
+  private IdList<Assignment> assignments;
   private String file;
+  private boolean dirty;
 
   /*
   Constructor that populates with file name
@@ -27,7 +27,7 @@ class AssignmentDatabase {
   public AssignmentDatabase(String file) {
 
     // Initialize instance variables
-    assignments = new ArrayList<Assignment>();
+    assignments = new IdList<Assignment>(Assignment::getID);
     this.file = file;
     
     // Handle IO errors
@@ -44,6 +44,9 @@ class AssignmentDatabase {
 
     // Populate data from file
     populate();
+    
+    // Loaded data matches the file
+    markClean();
   }
 
   /*
@@ -52,7 +55,7 @@ class AssignmentDatabase {
   @parameters void
   */
   public AssignmentDatabase() {
-    assignments = new ArrayList<Assignment>();
+    assignments = new IdList<Assignment>(Assignment::getID);
   }
 
   /*
@@ -72,9 +75,9 @@ class AssignmentDatabase {
   @name getAssignments
   @date 1/17/2024
   @parameters void
-  @returns ArrayList<Assignment>
+  @returns IdList<Assignment>
   */
-  public ArrayList<Assignment> getAssignments() {
+  public IdList<Assignment> getAssignments() {
     return assignments;
   }
   
@@ -86,105 +89,10 @@ class AssignmentDatabase {
   @returns Assignment
   */
   public Assignment searchID(int id) {
-  
-    // Variables
-    int left = 0, right = assignments.size()-1;
-    
-    // Continue until left and right meet
-    while (left <= right) {
-      // Get middle index
-      int mid = (left + right)/2;
-      
-      // If match is found, return the admin object
-      if (assignments.get(mid).getID() == id) {
-        return assignments.get(mid);
-      }
-      // If id is greater than mid, search right half
-      else if (assignments.get(mid).getID() < id) {
-        left = mid + 1;
-      }
-      // If id is less than mid, search left half
-      else {
-        right = mid - 1;
-      }
-    }
-    
-    // Return null if no match is found
-    return null;
-  }
-
-  /*
-  This function takes sorts the assignments arraylist using quick sort.
-  @name sort
-  @date 1/18/2024
-  @parameters int, int
-  @returns void
-  */
-  private void sort(int low, int high) {
-    // Variables
-    if (low < high) {
-      // Get pivot and sort around pivot
-      int pivot = partitionRandomPivot(low, high);
-      sort(low, pivot-1);
-      sort(pivot+1, high);
-    }
-  }
-
-  /*
-  This function assigns a random pivot value and quick sorts around the pivot. Another function is called to help with this.
-  @name partitiionRandomPivot
-  @date 1/18/2024
-  @parameters int, int
-  @returns int
-  */
-  private int partitionRandomPivot(int low, int high) {
-    // Variables
-    int pivot = (int) (Math.random() * (high - low + 1)) + low;
-    Assignment temp;
-    
-    // Swap high value with pivot
-    temp = assignments.get(high);
-    assignments.set(high, assignments.get(pivot));
-    assignments.set(pivot, temp);
-    
-    // Return pivot position
-    return partition(low, high);
+    // Find id in the ordered list
+    return assignments.search(id);
   }
 
-  /*
-  This function arranges the arraylist values around the pivot.
-  @name partition
-  @date 1/18/2024
-  @parameters int, int
-  @returns int
-  */
-  private int partition(int low, int high) {
-    // Variables
-    long pivot = assignments.get(high).getID();
-    int i = low - 1;
-    Assignment temp;
-    
-    // Go through all values in array to arrange them around the pivot
-    for (int j = low; j <= high - 1; j++) {
-      // Check if the j value is less than pivot. If so, swap i value with j value
-      if (assignments.get(j).getID() < pivot) {
-        // Increment i
-        i++;
-        
-        // Swap values
-        temp = assignments.get(i);
-        assignments.set(i, assignments.get(j));  
-        assignments.set(j, temp);
-      }
-    }
-    // Swap arr[i+1] with arr[high]
-    temp = assignments.get(i+1);
-    assignments.set(i+1, assignments.get(high));
-    assignments.set(high, temp);
-    
-    // Return i+1
-    return i+1;
-  }
 
   /*
   This function adds an assignment to the arraylist.
@@ -194,9 +102,9 @@ class AssignmentDatabase {
   @returns void
   */
   public void addAssignment(Assignment assignment) {
+    // Add in order of id
     assignments.add(assignment);
-
-    sort(0, assignments.size()-1);
+    dirty = true;
   }
 
   /*
@@ -207,7 +115,30 @@ class AssignmentDatabase {
   @returns void
   */
   public void removeAssignment(int id) {
-    assignments.remove(searchID(id));
+    // Mark as changed only if an assignment was removed
+    if (assignments.remove(searchID(id))) dirty = true;
+  }
+
+  /*
+  This method checks if the assignments have changed since they were last persisted
+  @name isDirty
+  @date 1/24/2024
+  @parameters void
+  @returns boolean
+  */
+  public boolean isDirty() {
+    return dirty;
+  }
+
+  /*
+  This method marks the assignments as persisted
+  @name markClean
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  public void markClean() {
+    dirty = false;
   }
 
   /*
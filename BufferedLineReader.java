@@ -0,0 +1,87 @@
+/*
+@file BufferedLineReader.java
+@author Ronak Patel
+@date 1/24/2024
+@description This class reads a persistence file through a BufferedReader, creating a String for every line and parsing numbers from it.
+*/
+
+// Imports
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+
+// BufferedLineReader class
+class BufferedLineReader implements LineReader {
+
+  // Instance variables
+  private BufferedReader br;
+
+  /*
+  Constructor that opens the file
+  @date 1/24/2024
+  @parameters String
+  */
+  public BufferedLineReader(String file) throws IOException {
+    br = new BufferedReader(new FileReader(file));
+  }
+
+  /*
+  This method reads the next line as it is
+  @name nextString
+  @date 1/24/2024
+  @parameters void
+  @returns String
+  */
+  @Override
+  public String nextString() throws IOException {
+    return br.readLine();
+  }
+
+  /*
+  This method reads the next line and parses it as an int
+  @name nextInt
+  @date 1/24/2024
+  @parameters void
+  @returns int
+  */
+  @Override
+  public int nextInt() throws IOException {
+    return Integer.parseInt(br.readLine());
+  }
+
+  /*
+  This method reads the next line and parses it as a long
+  @name nextLong
+  @date 1/24/2024
+  @parameters void
+  @returns long
+  */
+  @Override
+  public long nextLong() throws IOException {
+    return Long.parseLong(br.readLine());
+  }
+
+  /*
+  This method reads the next line and parses it as a double
+  @name nextDouble
+  @date 1/24/2024
+  @parameters void
+  @returns double
+  */
+  @Override
+  public double nextDouble() throws IOException {
+    return Double.parseDouble(br.readLine());
+  }
+
+  /*
+  This method closes the file
+  @name close
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  @Override
+  public void close() throws IOException {
+    br.close();
+  }
+}
\ No newline at end of file
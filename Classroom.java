@@ -2,11 +2,14 @@
 @file Classroom.java
 @author Ronak Patel
 @date 1/24/2024
-@description This class represents the classroom of students and stores Student objects. This classroom also keeps track of the admins who can manage the classroom. There is also an assignment database for all assignments in the classroom.
+@description This class represents the classroom of students and stores Student objects. This classroom also keeps track of the admins who can manage the classroom. There is also an assignment database for all assignments in the classroom, and a grade matrix with every student's grade for each assignment.
 */
 
 // Imports
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 
 // Classroom class
 class Classroom {
@@ -14,9 +17,13 @@ class Classroom {
   // Instance variables
   String name;
   int id;
-  ArrayList<Student> students;
+  IdList<Student> students;
+  LongIndex<Student> roster;
   AssignmentDatabase ad;
-  ArrayList<Admin> admins;
+  GradeMatrix grades;
+  LinkedHashSet<Admin> admins;
+  boolean dirty;
+  Journal journal;
 
   /*
   Constructor that assigns name and id of classroom
@@ -24,17 +31,27 @@ class Classroom {
   @parameters String, int
   */
   public Classroom(String name, int id) {
+    this(name, id, new AssignmentDatabase(id+"Assignments.txt"));
+  }
+
+  /*
+  Constructor that assigns name and id of classroom and its assignment database. If the assignment database is null, it is read from the classroom's file on first access.
+  @date 1/24/2024
+  @parameters String, int, AssignmentDatabase
+  */
+  public Classroom(String name, int id, AssignmentDatabase ad) {
     // Assign instance variables to arguments
     this.name = name;
     this.id = id;
+    this.ad = ad;
 
     // Initialize instance variables
-    students = new ArrayList<Student>();
-    ad = new AssignmentDatabase(id+"Assignments.txt");
-    admins = new ArrayList<Admin>();
+    students = new IdList<Student>(Student::getID);
+    roster = new LongIndex<Student>();
+    grades = new GradeMatrix();
+    admins = new LinkedHashSet<Admin>();
   }
 
-
   /*
   This method calculates the class average. This is the average of the students' average grades.
   @name getClassAverage
@@ -43,21 +60,69 @@ class Classroom {
   @returns double
   */
   public double getClassAverage() {
+    // The grade matrix keeps the total of the students' averages
+    return getGrades().average();
+  }
+
+  /*
+  This method gets the histogram of the course grades of the students with a grade. It is kept by the classroom, so merge it into a new histogram to combine it with others.
+  @name getCourseGradeHistogram
+  @date 1/24/2024
+  @parameters void
+  @returns GradeHistogram
+  */
+  public GradeHistogram getCourseGradeHistogram() {
+    return getGrades().rowHistogram();
+  }
+
+  /*
+  This method gets a student's rank in the classroom by course grade, starting at 1, or -1 if the student has no grades. Students with the same course grade share a rank.
+  @name getRank
+  @date 1/24/2024
+  @parameters long
+  @returns int
+  */
+  public int getRank(long studentID) {
+    return getGrades().ranking().rank(studentID);
+  }
+
+  /*
+  This method gets the students with the highest course grades, highest first
+  @name getTopStudents
+  @date 1/24/2024
+  @parameters int
+  @returns ArrayList<Student>
+  */
+  public ArrayList<Student> getTopStudents(int k) {
     // Variables
-    double classAverage = 0;
-    
-    // Iterate through the students and add the students' average
-    for (Student s : students) {
-      classAverage += s.getCourseGrade(this);
+    RankIndex ranking = getGrades().ranking();
+    ArrayList<Student> top = new ArrayList<Student>();
+
+    // Take students from the start of the ranking
+    for (int i = 0; i < k && i < ranking.size(); i++) {
+      top.add(searchID(ranking.get(i)));
     }
-    
-    // Divide the class average by the number of students
-    classAverage /= students.size();
-    
-    // Return the class average
-    return classAverage;
+    return top;
   }
 
+  /*
+  This method gets the students with the lowest course grades, lowest first
+  @name getBottomStudents
+  @date 1/24/2024
+  @parameters int
+  @returns ArrayList<Student>
+  */
+  public ArrayList<Student> getBottomStudents(int k) {
+    // Variables
+    RankIndex ranking = getGrades().ranking();
+    ArrayList<Student> bottom = new ArrayList<Student>();
+
+    // Take students from the end of the ranking
+    for (int i = ranking.size() - 1; i >= 0 && bottom.size() < k; i--) {
+      bottom.add(searchID(ranking.get(i)));
+    }
+    return bottom;
+  }
 
   /*
   This function adds a student object the classroom. The ArrayList is also sorted afterwards.
@@ -69,14 +134,74 @@ class Classroom {
   public void addStudent(Student s) {
     // Add student ArrayList
     students.add(s);
+    roster.put(s.getID(), s);
+    s.addClassroom(this);
     
-    // Add each assignment to the student
-    for (Assignment a : ad.getAssignments()) {
-      s.addAssignment(new Assignment(a.getName(), a.getID()));
-    }
+    // Give the student each assignment ungraded
+    getGrades().addRow(s.getID(), GradeMatrix.UNGRADED);
     
-    // Sort students arraylist
-    sort(0, students.size()-1);
+    // Record change in journal, or mark classroom for rewrite if there is no journal
+    if (journal == null || !journal.studentEnrolled(id, s.getID())) dirty = true;
+  }
+
+  /*
+  This function adds a student read from the classroom file with the assignments listed for the student, so the assignment database is not read. Assignments the student doesn't have are ABSENT until the assignment database is read.
+  @name loadStudent
+  @date 1/24/2024
+  @parameters Student, Assignment[]
+  @returns void
+  */
+  public void loadStudent(Student s, Assignment[] assignments) {
+    // Variables
+    int row;
+
+    // Add student in order of id
+    students.add(s);
+    roster.put(s.getID(), s);
+    s.addClassroom(this);
+
+    // Add the student's grades, and a column for assignments no other student had
+    row = grades.addRow(s.getID(), GradeMatrix.ABSENT);
+    for (Assignment a : assignments) {
+      grades.set(row, grades.addColumn(a, GradeMatrix.ABSENT), a.getGrade());
+    }
+    dirty = true;
+  }
+
+  /*
+  This function adds students read from the binary classroom file, with a row of grades for each in order of the classroom's assignments. The rows are copied into the grade matrix as they are, so the assignment database is not read.
+  @name loadStudents
+  @date 1/24/2024
+  @parameters Student[], ByteBuffer
+  @returns void
+  */
+  public void loadStudents(Student[] loaded, ByteBuffer rows) {
+    // Variables
+    long[] ids = new long[loaded.length];
+
+    // Add students in order of id
+    for (int j = 0; j < loaded.length; j++) {
+      students.add(loaded[j]);
+      roster.put(loaded[j].getID(), loaded[j]);
+      loaded[j].addClassroom(this);
+      ids[j] = loaded[j].getID();
+    }
+
+    // Copy the grades
+    grades.loadRows(ids, rows);
+    dirty = true;
+  }
+
+  /*
+  This function adds an assignment read from the classroom file as a column of the grade matrix, so the assignment database is not read. Students don't have the assignment until their grades are loaded.
+  @name loadAssignment
+  @date 1/24/2024
+  @parameters Assignment
+  @returns void
+  */
+  public void loadAssignment(Assignment a) {
+    grades.addColumn(a, GradeMatrix.ABSENT);
+    dirty = true;
   }
 
   /*
@@ -87,11 +212,26 @@ class Classroom {
   @returns void
   */
   public void addAdmin(Admin a) {
-    // Add admin to classroom's admins ArrayList
+    // Add admin to classroom's admins set
     admins.add(a);
 
     // Add classroom to admin's classrooms arraylist
     a.addClassroom(this);
+    
+    // Record change in journal, or mark classroom for rewrite if there is no journal
+    if (journal == null || !journal.adminAdded(id, a.getID())) dirty = true;
+  }
+
+  /*
+  This function removes an admin from the classroom.
+  @name removeAdmin
+  @date 1/24/2024
+  @parameters Admin
+  @returns void
+  */
+  public void removeAdmin(Admin a) {
+    // Mark as changed only if the admin was removed
+    if (admins.remove(a)) dirty = true;
   }
 
   /*
@@ -102,8 +242,10 @@ class Classroom {
   @returns void
   */
   public void addAssignment(Assignment a) {
-    // Add admin ArrayList
-    ad.getAssignments().add(a);
+    // Add assignment to the database and ungraded to each student
+    getAssignmentDatabase().getAssignments().add(a);
+    grades.addColumn(a, GradeMatrix.UNGRADED);
+    dirty = true;
   }
 
   /*
@@ -129,13 +271,13 @@ class Classroom {
   }
 
   /*
-  This method returns the admins ArrayList
+  This method returns the admins set. It keeps the order admins were added in
   @name getAdmins
   @date 1/17/2024
   @parameters void
-  @returns ArrayList<Admin>
+  @returns LinkedHashSet<Admin>
   */
-  public ArrayList<Admin> getAdmins() {
+  public LinkedHashSet<Admin> getAdmins() {
     return admins;
   }
   
@@ -144,9 +286,9 @@ class Classroom {
   @name getStudents
   @date 1/17/2024
   @parameters void
-  @returns ArrayList<Students>
+  @returns IdList<Students>
   */
-  public ArrayList<Student> getStudents() {
+  public IdList<Student> getStudents() {
     return students;
   }
 
@@ -158,9 +300,128 @@ class Classroom {
   @returns AssignmentDatabase
   */
   public AssignmentDatabase getAssignmentDatabase() {
+    // Read assignments the first time they are needed
+    if (ad == null) {
+      ad = new AssignmentDatabase(id+"Assignments.txt");
+      
+      // Drop columns of other classrooms' assignments. Older files list them with every classroom the student is in
+      for (int k = grades.columns() - 1; k >= 0; k--) {
+        if (ad.searchID(grades.getAssignment(k).getID()) == null) grades.removeColumn(grades.getAssignment(k).getID());
+      }
+
+      // Give students added before then every assignment they are missing
+      for (Assignment a : ad.getAssignments()) {
+        int k = grades.addColumn(a, GradeMatrix.UNGRADED);
+        grades.setAssignment(k, a);
+        grades.fillAbsent(k, GradeMatrix.UNGRADED);
+      }
+      grades.recount();
+    }
     return ad;
   }
 
+  /*
+  This method returns the grade matrix. Assignments added to the assignment database directly get a column with every student ungraded.
+  @name getGrades
+  @date 1/24/2024
+  @parameters void
+  @returns GradeMatrix
+  */
+  public GradeMatrix getGrades() {
+    // Give each assignment a column
+    if (getAssignmentDatabase().getAssignments().size() != grades.columns()) {
+      for (Assignment a : ad.getAssignments()) {
+        grades.addColumn(a, GradeMatrix.UNGRADED);
+      }
+    }
+    return grades;
+  }
+
+  /*
+  This method searches for a student's assignment by id and returns a view of the student's grade for it
+  @name searchAssignment
+  @date 1/24/2024
+  @parameters long, int
+  @returns Assignment
+  */
+  public Assignment searchAssignment(long studentID, int assignmentID) {
+    // Variables
+    Student s = searchID(studentID);
+    int column = getGrades().column(assignmentID);
+
+    // Student or assignment is not in the classroom
+    if (s == null || column < 0) return null;
+
+    return new GradeView(s, grades.getAssignment(column));
+  }
+
+  /*
+  This method gets a student's grade for an assignment, or -1 if either is not in the classroom
+  @name getGrade
+  @date 1/24/2024
+  @parameters long, int
+  @returns double
+  */
+  public double getGrade(long studentID, int assignmentID) {
+    // Variables
+    double grade = getGrades().get(studentID, assignmentID);
+
+    return Double.isNaN(grade) ? GradeMatrix.UNGRADED : grade;
+  }
+
+  /*
+  This method gets the students who have not been graded for an assignment. Only the ungraded rows are visited.
+  @name getUngraded
+  @date 1/24/2024
+  @parameters int
+  @returns IdList<Student>
+  */
+  public IdList<Student> getUngraded(int assignmentID) {
+    // Variables
+    IdList<Student> ungraded = new IdList<Student>(Student::getID);
+    int column = getGrades().column(assignmentID);
+
+    // Assignment is not in the classroom
+    if (column < 0) return ungraded;
+
+    // Add the student of each ungraded row. Rows are in order of id
+    for (int r = grades.nextUngraded(column, 0); r >= 0; r = grades.nextUngraded(column, r + 1)) {
+      ungraded.add(searchID(grades.getStudentID(r)));
+    }
+    return ungraded;
+  }
+
+  /*
+  This method gets the students who have not been graded for each assignment that still needs marking, in order of assignment id
+  @name getUngradedWork
+  @date 1/24/2024
+  @parameters void
+  @returns LinkedHashMap<Assignment, IdList<Student>>
+  */
+  public LinkedHashMap<Assignment, IdList<Student>> getUngradedWork() {
+    // Variables
+    LinkedHashMap<Assignment, IdList<Student>> work = new LinkedHashMap<Assignment, IdList<Student>>();
+    GradeMatrix matrix = getGrades();
+
+    // Skip assignments that every student is graded for
+    for (int c = 0; c < matrix.columns(); c++) {
+      if (matrix.nextUngraded(c, 0) < 0) continue;
+      work.put(matrix.getAssignment(c), getUngraded(matrix.getAssignment(c).getID()));
+    }
+    return work;
+  }
+
+  /*
+  This method checks if the assignment database was read. A classroom that was never opened has nothing in it to persist.
+  @name isLoaded
+  @date 1/24/2024
+  @parameters void
+  @returns boolean
+  */
+  public boolean isLoaded() {
+    return ad != null;
+  }
+
   /*
   This method searches for an Student object using id
   @name searchID
@@ -169,63 +430,51 @@ class Classroom {
   @returns Student
   */
   public Student searchID(long id) {
-  
-    // Variables
-    int left = 0, right = students.size()-1;
-    
-    // Continue until left and right meet
-    while (left <= right) {
-    // Get middle index
-      int mid = (left + right)/2;
-      
-      // If match is found, return the admin object
-      if (students.get(mid).getID() == id) {
-        return students.get(mid);
-      }
-      // If id is greater than mid, search right half
-      else if (students.get(mid).getID() < id) {
-        left = mid + 1;
-      }
-      // If id is less than mid, search left half
-      else {
-        right = mid - 1;
-      }
-    }
-    
-    // Return null if no match is found
-    return null;
+    // Look up id in the roster index
+    return roster.get(id);
   }
   
   /*
-  This method creates an assignment in the classroom
+  This method creates an assignment in the classroom with an id from the classroom database
   @name createAssignment
   @date 1/17/2024
-  @parameters void
+  @parameters int
   @returns void
   */
-  public void createAssignment() {
+  public void createAssignment(int id) {
     
     // Variables
     Keyboard keyboard = new Keyboard();
     String name;
-    Assignment a;
-    int id = (int)(Math.random()*89999999.0)+10000000;
     
     // Ask for the assignment name
     name = keyboard.getLine("\nEnter the name of the assignment: ");
     
-    // Loop through all students and add ungraded assignments
-    for (Student s : students) {
-      s.addAssignment(new Assignment(name, id));
-    }
-
-    // Add assignment to assignment database
-    ad.addAssignment(new Assignment(name, id));
+    // Create the assignment
+    createAssignment(name, id);
     
     // Confirmation message
     keyboard.print(name + " assignment created.");
   }
 
+  /*
+  This method creates an assignment with a name and id in the classroom. Students or the database that already have the assignment are skipped.
+  @name createAssignment
+  @date 1/24/2024
+  @parameters String, int
+  @returns void
+  */
+  public void createAssignment(String name, int id) {
+    // Add assignment to assignment database
+    if (getAssignmentDatabase().searchID(id) == null) getAssignmentDatabase().addAssignment(new Assignment(name, id));
+
+    // Add ungraded assignment to all students
+    grades.addColumn(ad.searchID(id), GradeMatrix.UNGRADED);
+    
+    // Record change in journal, or mark classroom for rewrite if there is no journal
+    if (journal == null || !journal.assignmentCreated(this.id, id, name)) dirty = true;
+  }
+
   /*
   This method deletes an assignment in the classroom
   @name removeAssignment
@@ -235,90 +484,71 @@ class Classroom {
   */
   public void removeAssignment(int id) {
     // Delete assignment from AssignmentDatabase
-    ad.removeAssignment(id);
+    getAssignmentDatabase().removeAssignment(id);
   
     // Delete assignment from all students
     for (Student s : students) {
-      s.removeAssignment(id);
+      forget(s, id);
     }
+    grades.removeColumn(id);
+    
+    // Record change in journal, or mark classroom for rewrite if there is no journal
+    if (journal == null || !journal.assignmentRemoved(this.id, id)) dirty = true;
   }
-  
 
   /*
-  This function sorts the students arraylist using quick sort.
-  @name sort
-  @date 1/16/2024
-  @parameters int, int
+  This method prompts admin to change the grade of a student's assignment in the classroom
+  @name gradeAssignment
+  @date 1/24/2024
+  @parameters long, int
   @returns void
   */
-  private void sort(int low, int high) {
+  public void gradeAssignment(long studentID, int assignmentID) {
     // Variables
-    if (low < high) {
-      // Get pivot and sort around pivot
-      int pivot = partitionRandomPivot(low, high);
-      sort(low, pivot-1);
-      sort(pivot+1, high);
-    }
+    Assignment a = searchAssignment(studentID, assignmentID);
+    
+    // Prompt for the grade of the student's copy of the assignment
+    a.grade();
+    
+    // Record change in journal, or mark classroom for rewrite if there is no journal
+    if (journal == null || !journal.gradeSet(id, studentID, assignmentID, a.getGrade())) dirty = true;
   }
 
   /*
-  This function assigns a random pivot value and sorts around the pivot. Another function is called to help with this.
-  @name partitionRandomPivot
-  @date 1/16/2024
-  @parameters int, int
-  @returns int
+  This method sets the journal that records changes to the classroom
+  @name setJournal
+  @date 1/24/2024
+  @parameters Journal
+  @returns void
   */
-  private int partitionRandomPivot(int low, int high) {
-    // Variables
-    int pivot = (int) (Math.random() * (high - low + 1)) + low;
-    Student temp;
-    
-    // Swap high value with pivot
-    temp = students.get(high);
-    students.set(high, students.get(pivot));
-    students.set(pivot, temp);
-    
-    // Return pivot position
-    return partition(low, high);
+  public void setJournal(Journal journal) {
+    this.journal = journal;
   }
 
   /*
-  This function arranges the arraylist values around the pivot.
-  @name partition
-  @date 1/16/2024
-  @parameters int, int
-  @returns int
+  This method checks if the classroom has changed since it was last persisted
+  @name isDirty
+  @date 1/24/2024
+  @parameters void
+  @returns boolean
   */
-  private int partition(int low, int high) {
-    // Variables
-    long pivot = students.get(high).getID();
-    int i = low - 1;
-    Student temp;
-    
-    // Go through all values in array to arrange them around the pivot
-    for (int j = low; j <= high - 1; j++) {
-      
-      // Check if the j value is less than pivot. If so, swap i value with j value
-      if (students.get(j).getID() < pivot) {
-        // Increment i
-        i++;
-        
-        // Swap values
-        temp = students.get(i);
-        students.set(i, students.get(j));  
-        students.set(j, temp);
-      }
-    }
-    
-    // Swap arr[i+1] with arr[high]
-    temp = students.get(i+1);
-    students.set(i+1, students.get(high));
-    students.set(high, temp);
-    
-    // Return i+1
-    return i+1;
+  public boolean isDirty() {
+    return dirty;
   }
 
+  /*
+  This method marks the classroom as persisted
+  @name markClean
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  public void markClean() {
+    dirty = false;
+  }
+  
+
+
   /*
   This method removes a student from the classroom
   @name deleteStudent
@@ -329,11 +559,40 @@ class Classroom {
   public void deleteStudent(Student s) {
   
     // Remove all assignments from this classroom from the student
-    for (Assignment a : ad.getAssignments()) {
-      s.removeAssignment(a.getID());
-    }
+    release(s);
     
     // Remove student from classroom
     students.remove(s);
+    roster.remove(s.getID());
+    grades.removeRow(s.getID());
+    dirty = true;
+  }
+
+  /*
+  This method removes all assignments from this classroom and the classroom itself from a student. The student stays in the classroom's student list.
+  @name release
+  @date 1/24/2024
+  @parameters Student
+  @returns void
+  */
+  public void release(Student s) {
+    // Remove each assignment
+    for (Assignment a : getAssignmentDatabase().getAssignments()) {
+      forget(s, a.getID());
+    }
+    s.deleteClassroom(this);
+  }
+
+  /*
+  This method removes an assignment from a student's copies in classrooms that were not opened. Older files list every assignment of a student with each of the student's classrooms, and these copies would otherwise be written back.
+  @name forget
+  @date 1/24/2024
+  @parameters Student, int
+  @returns void
+  */
+  private void forget(Student s, int assignmentID) {
+    for (Classroom c : s.getClassrooms()) {
+      if (c != this && !c.isLoaded()) c.grades.set(s.getID(), assignmentID, GradeMatrix.ABSENT);
+    }
   }
 }
\ No newline at end of file
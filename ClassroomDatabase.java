@@ -8,23 +8,34 @@
 // Imports
 import java.util.ArrayList;
 import java.io.File;
+import java.io.IOException;
 
 // ClassroomDatabase class
 class ClassroomDatabase {
   
   // Instance variables
-  private ArrayList<Classroom> classrooms;
+  private IdList<Classroom> classrooms;
   String file;
+  private boolean dirty;
+  private Journal journal;
+  private long loadNanos;
+  private IdAllocator classroomIds;
+  private IdAllocator assignmentIds;
+  private LongIndex<Classroom> assignments;
   
   /*
   Constructor which creates a list of classrooms and assigns a file to the database
   @date 1/15/2024
-  @parameters String
+  @parameters String, Manifest
   */
-  public ClassroomDatabase(String file) {
+  public ClassroomDatabase(String file, Manifest manifest) {
     // Instantiate instance variables
-    classrooms = new ArrayList<Classroom>();
+    classrooms = new IdList<Classroom>(Classroom::getID);
     this.file = file;
+    journal = new Journal(file + ".journal", file, manifest);
+    classroomIds = new IdAllocator(manifest, IdAllocator.CLASSROOMS, 100000, 999999);
+    assignmentIds = new IdAllocator(manifest, IdAllocator.ASSIGNMENTS, 10000000, 99999999);
+    assignments = new LongIndex<Classroom>();
   }
 
   /*
@@ -42,6 +53,8 @@ class ClassroomDatabase {
     
     // Clear the classroom database
     classrooms.clear();
+    assignments.clear();
+    dirty = true;
   }
 
   /*
@@ -49,9 +62,9 @@ class ClassroomDatabase {
   @name getClassrooms
   @date 1/15/2024
   @parameters void
-  @returns ArrayList<Classroom>
+  @returns IdList<Classroom>
   */
-  public ArrayList<Classroom> getClassrooms() {
+  public IdList<Classroom> getClassrooms() {
     return classrooms;
   }
   
@@ -63,11 +76,9 @@ class ClassroomDatabase {
   @returns void
   */
   public void add(Classroom c) {
-    // Add to arraylist
+    // Add to list in order of id
     classrooms.add(c);
-
-    // Sort arraylist
-    sort(0, classrooms.size()-1);
+    dirty = true;
   }
    
   /*
@@ -78,8 +89,101 @@ class ClassroomDatabase {
   @returns void
   */
   public void populate(StaffDatabase sd) {
+    // Variables
+    long start = System.nanoTime();
+    
+    // Read binary gradebook file
+    if (GradebookFile.isBinary(file)) {
+      // Handle IO errors
+      try {
+        GradebookFile.read(file, sd);
+      }
+      catch (IOException e) {
+        e.printStackTrace();
+      }
+    }
     // Get classroom info using method in keyboard class
-    new Keyboard().getClassroomInfo(file, sd);
+    else {
+      new Keyboard().getClassroomInfo(file, sd);
+    }
+    
+    // Record time taken to read the file
+    loadNanos = System.nanoTime() - start;
+    
+    // Bring classrooms up to date
+    attach(sd);
+  }
+
+  /*
+  This method populates the classrooms arraylist with classrooms read by the startup loader
+  @name populate
+  @date 1/24/2024
+  @parameters StaffDatabase, StartupLoader
+  @returns void
+  */
+  public void populate(StaffDatabase sd, StartupLoader loader) {
+    // Variables
+    long start = System.nanoTime();
+    
+    // Handle IO errors
+    try {
+      // Link classrooms in file order
+      for (ClassroomRecord r : loader.getClassrooms()) {
+        add(r.link(sd));
+      }
+    }
+    catch (IOException e) {
+      e.printStackTrace();
+    }
+    
+    // Record time spent waiting for and linking classrooms
+    loadNanos = System.nanoTime() - start;
+    
+    // Bring classrooms up to date
+    attach(sd);
+  }
+
+  /*
+  This method applies the journal to the loaded classrooms and records further changes in it
+  @name attach
+  @date 1/24/2024
+  @parameters StaffDatabase
+  @returns void
+  */
+  private void attach(StaffDatabase sd) {
+    // Apply changes made since classrooms.txt was last written
+    journal.replay(sd);
+    
+    // Record further changes in the journal
+    for (Classroom c : classrooms) {
+      c.setJournal(journal);
+    }
+    
+    // Record the assignment ids in use
+    indexAssignments();
+  }
+
+  /*
+  This method records the assignment ids used by the classrooms. A classroom that was not opened knows its assignments from its grade matrix columns. Only a classroom with no columns, which was read from the text format without students, has its assignment file read.
+  @name indexAssignments
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  private void indexAssignments() {
+    for (Classroom c : classrooms) {
+      // Assignments only listed in the assignment file
+      if (c.isLoaded() || c.grades.columns() == 0) {
+        for (Assignment a : c.getAssignmentDatabase().getAssignments()) {
+          assignments.put(a.getID(), c);
+        }
+      }
+      
+      // Assignments listed with the students. Older files also list the student's assignments from other classrooms, which only keeps those ids from being given out again
+      for (int k = 0; k < c.grades.columns(); k++) {
+        assignments.put(c.grades.getAssignment(k).getID(), c);
+      }
+    }
   }
 
   /*
@@ -90,16 +194,24 @@ class ClassroomDatabase {
   @returns boolean
   */
   private boolean isUnique(int id) {
-    // Iterate over all classrooms
-    for (Classroom c : classrooms) {
-      // If id is found, returns false
-      if (c.getID() == id) {
-        return false;
-      }
-    }
+    // Unique if no classroom has the id
+    return classrooms.search(id) == null;
+  }
 
-    // Return unique
-    return true;
+  /*
+  This method gets an assignment id that no classroom uses for a new assignment in a classroom. Ids come from a sequence, and ids given before there was one are looked up in the ids in use.
+  @name allocateAssignmentID
+  @date 1/24/2024
+  @parameters Classroom
+  @returns int
+  */
+  public int allocateAssignmentID(Classroom c) {
+    // Variables
+    int id = (int) assignmentIds.allocate(assignments::containsKey);
+    
+    // Record the id as used
+    assignments.put(id, c);
+    return id;
   }
   
   
@@ -120,13 +232,12 @@ class ClassroomDatabase {
     // Prompt for course name
     name = keyboard.getLine("\nEnter the name of the classroom: ");
 
-    // Get unique id
-    do {
-      id = (int)(Math.random()*899999.0)+100000;
-    } while (!isUnique(id));
+    // Get next free id
+    id = (int) classroomIds.allocate(i -> !isUnique((int) i));
     
-    // Create new classroom with name
+    // Create new classroom with name. Changes after it is first written are journaled
     c = new Classroom(name, id);
+    c.setJournal(journal);
     a.addClassroom(c);
     
     // Add admin to classroom
@@ -157,10 +268,7 @@ class ClassroomDatabase {
     
     // Delete all instances of classroom assignments in student objects
     for (Student s : c.getStudents()) {
-      for (Assignment a : c.getAssignmentDatabase().getAssignments()) {
-        // Remove assignment in student
-        s.removeAssignment(a.getID());
-      }
+      c.release(s);
     }
     
     // Delete assignments file for that classroom
@@ -168,112 +276,96 @@ class ClassroomDatabase {
     
     // Delete classroom from database
     classrooms.remove(c);
+    dirty = true;
   }
 
   /*
-  This method searches for an Admin object using id
-  @name searchID
-  @date 1/16/2024
-  @parameters id
-  @returns Classroom
+  This method merges the course grade histograms of every classroom for a school-wide view. A student in more than one classroom is counted once for each.
+  @name getCourseGradeHistogram
+  @date 1/24/2024
+  @parameters void
+  @returns GradeHistogram
   */
-  public Classroom searchID(int id) {
+  public GradeHistogram getCourseGradeHistogram() {
     // Variables
-    int left = 0, right = classrooms.size()-1;
+    GradeHistogram histogram = new GradeHistogram();
+
+    // Add each classroom's course grades
+    for (Classroom c : classrooms) {
+      histogram.merge(c.getCourseGradeHistogram());
+    }
+    return histogram;
+  }
+
+  /*
+  This method checks if the database or any of its classrooms has changed since it was last persisted
+  @name isDirty
+  @date 1/24/2024
+  @parameters void
+  @returns boolean
+  */
+  public boolean isDirty() {
+    // If classrooms were added or removed
+    if (dirty) return true;
     
-    // Continue until left and right meet
-    while (left <= right) {
-      // Get middle index
-      int mid = (left + right)/2;
-      
-      // If match is found, return the admin object
-      if (classrooms.get(mid).getID() == id) {
-        return classrooms.get(mid);
-      }
-      // If id is greater than mid, search right half
-      else if (classrooms.get(mid).getID() < id) {
-        left = mid + 1;
-      }
-      // If id is less than mid, search left half
-      else {
-        right = mid - 1;
-      }
+    // If any classroom was changed
+    for (Classroom c : classrooms) {
+      if (c.isDirty()) return true;
     }
     
-    // Return null if no match is found
-    return null;
+    // Nothing changed
+    return false;
   }
 
   /*
-  This function takes sorts the classrooms arraylist using quick sort.
-  @name sort
-  @date 1/16/2024
-  @parameters int, int
+  This method marks the database and all of its classrooms as persisted
+  @name markClean
+  @date 1/24/2024
+  @parameters void
   @returns void
   */
-  private void sort(int low, int high) {
-    if (low < high) {
-      // Get pivot and sort around pivot
-      int pivot = partitionRandomPivot(low, high);
-      sort(low, pivot-1);
-      sort(pivot+1, high);
+  public void markClean() {
+    dirty = false;
+    
+    // Mark each classroom as persisted
+    for (Classroom c : classrooms) {
+      c.markClean();
     }
   }
 
   /*
-  This function assigns a random pivot value and sorts around the pivot. Another function is called to help with this.
-  @name partitionRandomPivot
+  This method searches for an Admin object using id
+  @name searchID
   @date 1/16/2024
-  @parameters int, int
-  @returns int
+  @parameters id
+  @returns Classroom
   */
-  private int partitionRandomPivot(int low, int high) {
-    // Variables
-    int pivot = (int) (Math.random() * (high - low + 1)) + low;
-    Classroom temp;
-    
-    // Swap high value with pivot
-    temp = classrooms.get(high);
-    classrooms.set(high, classrooms.get(pivot));
-    classrooms.set(pivot, temp);
-    
-    // Return pivot position
-    return partition(low, high);
+  public Classroom searchID(int id) {
+    // Find id in the ordered list
+    return classrooms.search(id);
   }
 
+
   /*
-  This function arranges the arraylist values around the pivot.
-  @name partition
-  @date 1/16/2024
-  @parameters int, int
-  @returns int
+  Gets the time taken to read the classroom file at startup in nanoseconds
+  @name getLoadNanos
+  @date 1/24/2024
+  @parameters void
+  @returns long
   */
-  private int partition(int low, int high) {
-    // Variables
-    long pivot = classrooms.get(high).getID();
-    int i = low - 1;
-    Classroom temp;
-    
-    // Go through all values in array to arrange them around the pivot
-    for (int j = low; j <= high - 1; j++) {
-      // Check if the j value is less than pivot. If so, swap i value with j value
-      if (classrooms.get(j).getID() < pivot) {
-        // Increment i
-        i++;
-        
-        // Swap values
-        temp = classrooms.get(i);
-        classrooms.set(i, classrooms.get(j));  
-        classrooms.set(j, temp);
-      }
-    }
-    // Swap arr[i+1] with arr[high]
-    temp = classrooms.get(i+1);
-    classrooms.set(i+1, classrooms.get(high));
-    classrooms.set(high, temp);
-    
-    // Return i+1
-    return i+1;
+  public long getLoadNanos() {
+    return loadNanos;
+  }
+
+  /*
+  Gets the journal of changes to the classrooms
+  @name getJournal
+  @date 1/24/2024
+  @parameters void
+  @returns Journal
+  */
+  public Journal getJournal() {
+    return journal;
   }
 
   /*
@@ -0,0 +1,110 @@
+/*
+@file ClassroomRecord.java
+@author Ronak Patel
+@date 1/24/2024
+@description This class holds one classroom as it was read from the classroom file, before it is linked to admins and students. Admins and students are only stored by id, so records can be read while the admin and student files are still loading.
+*/
+
+// Imports
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+// ClassroomRecord class
+class ClassroomRecord {
+
+  // Instance variables
+  String name;
+  int id;
+  long[] admins;
+  long[] students;
+  Assignment[][] assignments;
+  Assignment[] dictionary;
+  ByteBuffer grades;
+
+  /*
+  Constructor that assigns name and id of the classroom
+  @date 1/24/2024
+  @parameters String, int
+  */
+  public ClassroomRecord(String name, int id) {
+    this.name = name;
+    this.id = id;
+  }
+
+  /*
+  This method reads one classroom in the text format: name, id, admin ids, then each student id followed by the name, id and grade of each of the student's assignments
+  @name read
+  @date 1/24/2024
+  @parameters LineReader
+  @returns ClassroomRecord
+  */
+  public static ClassroomRecord read(LineReader lr) throws IOException {
+    // Variables
+    ClassroomRecord r = new ClassroomRecord(lr.nextString(), lr.nextInt());
+    Assignment a;
+
+    // Admin ids
+    r.admins = new long[lr.nextInt()];
+    for (int j = 0; j < r.admins.length; j++) {
+      r.admins[j] = lr.nextLong();
+    }
+
+    // Student ids and graded assignments
+    r.students = new long[lr.nextInt()];
+    r.assignments = new Assignment[r.students.length][];
+    for (int j = 0; j < r.students.length; j++) {
+      r.students[j] = lr.nextLong();
+      r.assignments[j] = new Assignment[lr.nextInt()];
+      for (int k = 0; k < r.assignments[j].length; k++) {
+        a = new Assignment(lr.nextString(), lr.nextInt());
+        a.grade(lr.nextDouble());
+        r.assignments[j][k] = a;
+      }
+    }
+
+    // Return record
+    return r;
+  }
+
+  /*
+  This method builds the classroom and links it to its admins and students. The classroom's assignment file is not read until the classroom is opened.
+  @name link
+  @date 1/24/2024
+  @parameters StaffDatabase
+  @returns Classroom
+  */
+  public Classroom link(StaffDatabase sd) {
+    // Variables
+    Classroom c = new Classroom(name, id, null);
+
+    // Admins
+    for (long admin : admins) {
+      c.addAdmin(sd.searchID(admin));
+    }
+
+    // Assignments listed with the classroom. These are only stored in the binary format, and become columns without reading the assignment file
+    if (dictionary != null) {
+      for (Assignment a : dictionary) {
+        c.loadAssignment(a);
+      }
+    }
+
+    // Students with a row of grades in the binary format
+    if (grades != null) {
+      Student[] loaded = new Student[students.length];
+      for (int j = 0; j < students.length; j++) {
+        loaded[j] = sd.getStudentDatabase().searchID(students[j]);
+      }
+      c.loadStudents(loaded, grades);
+    }
+    // Students with their graded assignments
+    else {
+      for (int j = 0; j < students.length; j++) {
+        c.loadStudent(sd.getStudentDatabase().searchID(students[j]), assignments[j]);
+      }
+    }
+
+    // Return linked classroom
+    return c;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,116 @@
+/*
+@file Command.java
+@author Ronak Patel
+@date 1/24/2024
+@description This class is an action chosen from a menu, with the ids of the classroom, assignment and student or admin it acts on. Menus give each option a command when the option is built, so running the choice looks at the action and ids instead of reading them back out of the option's text.
+*/
+
+// Command class
+class Command {
+
+  // Actions a command can run
+  enum Action {
+    RETURN,
+    EXIT,
+    ADD_CLASSROOM,
+    ADD_ADMIN,
+    ADD_STUDENT_TO_DATABASE,
+    FIND_STUDENT,
+    FIND_ADMIN,
+    PURGE,
+    SCHOOL_GRADE_DISTRIBUTION,
+    DELETE_ADMIN,
+    DELETE_CLASSROOM,
+    CREATE_ASSIGNMENT,
+    DELETE_ASSIGNMENT,
+    ADD_STUDENT_TO_CLASSROOM,
+    DELETE_STUDENT_FROM_CLASSROOM,
+    DELETE_STUDENT_FROM_DATABASE,
+    ADD_ADMIN_TO_CLASSROOM,
+    CHANGE_ASSIGNMENT_GRADE,
+    EDIT_STUDENT_FIRST_NAME,
+    EDIT_STUDENT_LAST_NAME,
+    EDIT_STUDENT_USERNAME,
+    EDIT_STUDENT_PASSWORD,
+    EDIT_ADMIN_FIRST_NAME,
+    EDIT_ADMIN_LAST_NAME,
+    EDIT_ADMIN_USERNAME,
+    EDIT_ADMIN_PASSWORD,
+    AVERAGE_GRADE,
+    ASSIGNMENT_GRADE_DISTRIBUTION,
+    CLASSROOM_GRADE_DISTRIBUTION,
+    CLASS_RANK,
+    VIEW_COURSE_GRADE
+  }
+
+  // Instance variables
+  private Action action;
+  private int classroom;
+  private int assignment;
+  private long user;
+
+  /*
+  Constructor for an action that needs no ids
+  @date 1/24/2024
+  @parameters Action
+  */
+  public Command(Action action) {
+    this(action, 0, 0, 0);
+  }
+
+  /*
+  Constructor that assigns the action and the ids it acts on. Ids an action doesn't use are 0.
+  @date 1/24/2024
+  @parameters Action, int, int, long
+  */
+  public Command(Action action, int classroom, int assignment, long user) {
+    this.action = action;
+    this.classroom = classroom;
+    this.assignment = assignment;
+    this.user = user;
+  }
+
+  /*
+  This method gets the action
+  @name getAction
+  @date 1/24/2024
+  @parameters void
+  @returns Action
+  */
+  public Action getAction() {
+    return action;
+  }
+
+  /*
+  This method gets the id of the classroom
+  @name getClassroom
+  @date 1/24/2024
+  @parameters void
+  @returns int
+  */
+  public int getClassroom() {
+    return classroom;
+  }
+
+  /*
+  This method gets the id of the assignment
+  @name getAssignment
+  @date 1/24/2024
+  @parameters void
+  @returns int
+  */
+  public int getAssignment() {
+    return assignment;
+  }
+
+  /*
+  This method gets the id of the student or admin
+  @name getUser
+  @date 1/24/2024
+  @parameters void
+  @returns long
+  */
+  public long getUser() {
+    return user;
+  }
+}
\ No newline at end of file
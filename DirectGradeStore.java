@@ -0,0 +1,180 @@
+/*
+@file DirectGradeStore.java
+@author Ronak Patel
+@date 1/24/2024
+@description This class keeps the cells of a grade matrix in a direct buffer outside of the heap. The garbage collector only sees one small object for each classroom however many grades it has. The buffer is big-endian like the gradebook file, so rows are written to a file by copying their bytes.
+*/
+
+// Imports
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+
+// DirectGradeStore class
+class DirectGradeStore implements GradeStore {
+
+  // Instance variables
+  private ByteBuffer bytes;
+  private DoubleBuffer grades;
+
+  /*
+  Constructor that creates a store of cells set to 0
+  @date 1/24/2024
+  @parameters int
+  */
+  public DirectGradeStore(int size) {
+    // A direct buffer is limited to 2 GB
+    if (size > Integer.MAX_VALUE / 8) throw new IllegalArgumentException("Too many grades for one store: " + size);
+    bytes = ByteBuffer.allocateDirect(size * 8);
+    grades = bytes.asDoubleBuffer();
+  }
+
+  /*
+  This method gets the number of cells, which is the capacity of the double view of the buffer
+  @name size
+  @date 1/24/2024
+  @parameters void
+  @returns int
+  */
+  @Override
+  public int size() {
+    return grades.capacity();
+  }
+
+  /*
+  This method gets the grade in a cell
+  @name get
+  @date 1/24/2024
+  @parameters int
+  @returns double
+  */
+  @Override
+  public double get(int i) {
+    return grades.get(i);
+  }
+
+  /*
+  This method sets the grade in a cell
+  @name set
+  @date 1/24/2024
+  @parameters int, double
+  @returns void
+  */
+  @Override
+  public void set(int i, double grade) {
+    grades.put(i, grade);
+  }
+
+  /*
+  This method sets every cell from one index up to another to a grade, one cell at a time
+  @name fill
+  @date 1/24/2024
+  @parameters int, int, double
+  @returns void
+  */
+  @Override
+  public void fill(int from, int to, double grade) {
+    for (int i = from; i < to; i++) {
+      grades.put(i, grade);
+    }
+  }
+
+  /*
+  This method moves a run of cells within the buffer. Runs that overlap are copied in the direction that keeps them intact.
+  @name move
+  @date 1/24/2024
+  @parameters int, int, int
+  @returns void
+  */
+  @Override
+  public void move(int from, int to, int length) {
+    // Copy from the end when moving right so cells are read before they are overwritten
+    if (to > from) {
+      for (int i = length - 1; i >= 0; i--) {
+        grades.put(to + i, grades.get(from + i));
+      }
+    }
+    else {
+      for (int i = 0; i < length; i++) {
+        grades.put(to + i, grades.get(from + i));
+      }
+    }
+  }
+
+  /*
+  This method copies a run of cells into another store. Another direct store gets a single bulk copy between the buffers.
+  @name copyTo
+  @date 1/24/2024
+  @parameters int, GradeStore, int, int
+  @returns void
+  */
+  @Override
+  public void copyTo(int from, GradeStore store, int to, int length) {
+    // Variables
+    DoubleBuffer source;
+    DoubleBuffer target;
+
+    // Copy the buffer straight into a store of the same kind
+    if (store instanceof DirectGradeStore) {
+      source = grades.duplicate();
+      source.position(from).limit(from + length);
+      target = ((DirectGradeStore) store).grades.duplicate();
+      target.position(to);
+      target.put(source);
+      return;
+    }
+
+    // Copy one cell at a time into any other store
+    for (int i = 0; i < length; i++) {
+      store.set(to + i, grades.get(from + i));
+    }
+  }
+
+  /*
+  This method creates an empty direct store, so a grown matrix stays outside of the heap
+  @name create
+  @date 1/24/2024
+  @parameters int
+  @returns GradeStore
+  */
+  @Override
+  public GradeStore create(int size) {
+    return new DirectGradeStore(size);
+  }
+
+  /*
+  This method writes a run of cells to a big-endian buffer by copying their bytes
+  @name write
+  @date 1/24/2024
+  @parameters int, int, ByteBuffer
+  @returns void
+  */
+  @Override
+  public void write(int from, int length, ByteBuffer out) {
+    // Variables
+    ByteBuffer source = bytes.duplicate();
+
+    // Cells are already big-endian, so the bytes are copied as they are
+    source.position(from * 8).limit((from + length) * 8);
+    out.put(source);
+  }
+
+  /*
+  This method reads a run of cells from a big-endian buffer by copying their bytes
+  @name read
+  @date 1/24/2024
+  @parameters int, int, ByteBuffer
+  @returns void
+  */
+  @Override
+  public void read(int to, int length, ByteBuffer in) {
+    // Variables
+    ByteBuffer source = in.duplicate();
+    ByteBuffer target = bytes.duplicate();
+
+    // The file is big-endian too, so the bytes are copied as they are
+    source.limit(in.position() + length * 8);
+    target.position(to * 8);
+    target.put(source);
+    in.position(source.position());
+  }
+}
\ No newline at end of file
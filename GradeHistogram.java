@@ -0,0 +1,151 @@
+/*
+@file GradeHistogram.java
+@author Ronak Patel
+@date 1/24/2024
+@description This class counts grades in fixed buckets one percent wide, with one bucket for grades under 0 and one for grades of 100 or more. Grades are added and removed as they change, so the median, percentiles and the number of grades in a band are read from the buckets instead of sorting every grade. Histograms of different classrooms have the same buckets and can be merged for a school-wide view. Quantiles are found to within one percent.
+*/
+
+// Imports
+import java.util.Arrays;
+
+// GradeHistogram class
+class GradeHistogram {
+
+  // Instance variables
+  private int[] counts;
+  private int size;
+
+  // Bucket 0 is under 0, bucket k is from k - 1 up to k, and the last bucket is 100 or more
+  public static final int BUCKETS = 102;
+
+  /*
+  Constructor that creates an empty histogram
+  @date 1/24/2024
+  @parameters void
+  */
+  public GradeHistogram() {
+    counts = new int[BUCKETS];
+  }
+
+  /*
+  This method counts a grade
+  @name add
+  @date 1/24/2024
+  @parameters double
+  @returns void
+  */
+  public void add(double grade) {
+    counts[bucket(grade)]++;
+    size++;
+  }
+
+  /*
+  This method stops counting a grade that was added before
+  @name remove
+  @date 1/24/2024
+  @parameters double
+  @returns void
+  */
+  public void remove(double grade) {
+    counts[bucket(grade)]--;
+    size--;
+  }
+
+  /*
+  This method adds the counts of another histogram to this one
+  @name merge
+  @date 1/24/2024
+  @parameters GradeHistogram
+  @returns void
+  */
+  public void merge(GradeHistogram other) {
+    for (int b = 0; b < BUCKETS; b++) {
+      counts[b] += other.counts[b];
+    }
+    size += other.size;
+  }
+
+  /*
+  This method removes every grade
+  @name clear
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  public void clear() {
+    Arrays.fill(counts, 0);
+    size = 0;
+  }
+
+  /*
+  This method gets the number of grades
+  @name size
+  @date 1/24/2024
+  @parameters void
+  @returns int
+  */
+  public int size() {
+    return size;
+  }
+
+  /*
+  This method counts the grades from a low grade up to a high grade. Whole numbers from 0 to 100 are counted exactly, and a high grade over 100 includes every grade of 100 or more.
+  @name count
+  @date 1/24/2024
+  @parameters double, double
+  @returns int
+  */
+  public int count(double low, double high) {
+    // Variables
+    int end = high > 100 ? BUCKETS : bucket(high);
+    int n = 0;
+
+    // Add up the buckets in the band
+    for (int b = bucket(low); b < end; b++) {
+      n += counts[b];
+    }
+    return n;
+  }
+
+  /*
+  This method estimates the grade that a fraction of the grades are at or below, such as 0.5 for the median. The grade is placed within its bucket by its rank. Returns -1 if there are no grades.
+  @name quantile
+  @date 1/24/2024
+  @parameters double
+  @returns double
+  */
+  public double quantile(double fraction) {
+    // Variables
+    long rank = Math.max(1, (long) Math.ceil(fraction * size));
+    long below = 0;
+
+    // No grades
+    if (size == 0) return -1;
+
+    // Find the bucket with the grade of the rank
+    for (int b = 0; b < BUCKETS; b++) {
+      if (below + counts[b] >= rank) {
+        // Grades under 0 and over 100 have no width to place them in
+        if (b == 0) return 0;
+        if (b == BUCKETS - 1) return 100;
+        return b - 1 + (double) (rank - below - 1) / counts[b];
+      }
+      below += counts[b];
+    }
+    return 100;
+  }
+
+  /*
+  This method gets the bucket of a grade
+  @name bucket
+  @date 1/24/2024
+  @parameters double
+  @returns int
+  */
+  private static int bucket(double grade) {
+    // Grades out of range, and NaN, go in the end buckets
+    if (grade < 0) return 0;
+    if (!(grade < 100)) return BUCKETS - 1;
+    return (int) grade + 1;
+  }
+}
\ No newline at end of file
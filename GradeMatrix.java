@@ -0,0 +1,730 @@
+/*
+@file GradeMatrix.java
+@author Ronak Patel
+@date 1/24/2024
+@description This class stores the grades of a classroom as one run of doubles with a row for each student and a column for each assignment. Rows are kept in order of student id and columns in order of assignment id, so a student's grades are next to each other and are read in the same order as the assignment database. Each column keeps one Assignment object for its name and id instead of every student having a copy. The sum and count of graded cells in each row and column, and the total of the row averages, are updated with each change so averages are read without a scan, and so are histograms of each column's grades and of the row averages. Rows are ranked by average once a ranking is asked for, and the ranking is then kept up to date as well. Each column also keeps a bitmap of the rows that are ungraded, so the students who still need marking are found without reading every grade. The doubles are kept on the heap, or in a direct buffer outside of it when the markbook.gradestore property is offheap.
+*/
+
+// Imports
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// GradeMatrix class
+class GradeMatrix {
+
+  // Grade of an assignment that was not graded yet
+  public static final double UNGRADED = -1;
+
+  // Grade of a student who doesn't have the assignment. Only classrooms read from a file before their assignments are read have these
+  public static final double ABSENT = Double.NaN;
+
+  // Instance variables
+  private GradeStore grades;
+  private long[] students;
+  private int[] ids;
+  private Assignment[] assignments;
+  private int rows;
+  private int columns;
+  private double[] rowSums;
+  private int[] rowCounts;
+  private double[] columnSums;
+  private int[] columnCounts;
+  private double total;
+  private long[][] ungraded;
+  private GradeHistogram[] columnHistograms;
+  private GradeHistogram rowHistogram;
+  private RankIndex ranking;
+
+  // Room for rows and columns in a new matrix
+  private static final int MIN_CAPACITY = 8;
+
+  // Keep grades outside of the heap
+  public static final boolean OFF_HEAP = "offheap".equals(System.getProperty("markbook.gradestore"));
+
+  /*
+  Constructor that creates an empty matrix
+  @date 1/24/2024
+  @parameters void
+  */
+  public GradeMatrix() {
+    students = new long[MIN_CAPACITY];
+    ids = new int[MIN_CAPACITY];
+    assignments = new Assignment[MIN_CAPACITY];
+    grades = OFF_HEAP ? new DirectGradeStore(MIN_CAPACITY * MIN_CAPACITY) : new HeapGradeStore(MIN_CAPACITY * MIN_CAPACITY);
+    rowSums = new double[MIN_CAPACITY];
+    rowCounts = new int[MIN_CAPACITY];
+    columnSums = new double[MIN_CAPACITY];
+    columnCounts = new int[MIN_CAPACITY];
+    ungraded = new long[MIN_CAPACITY][];
+    columnHistograms = new GradeHistogram[MIN_CAPACITY];
+    rowHistogram = new GradeHistogram();
+  }
+
+  /*
+  This method gets the row of a student, or -1 if the student has no row
+  @name row
+  @date 1/24/2024
+  @parameters long
+  @returns int
+  */
+  public int row(long student) {
+    // Variables
+    int i = Arrays.binarySearch(students, 0, rows, student);
+
+    return i < 0 ? -1 : i;
+  }
+
+  /*
+  This method gets the column of an assignment, or -1 if the assignment has no column
+  @name column
+  @date 1/24/2024
+  @parameters int
+  @returns int
+  */
+  public int column(int id) {
+    // Variables
+    int i = Arrays.binarySearch(ids, 0, columns, id);
+
+    return i < 0 ? -1 : i;
+  }
+
+  /*
+  This method adds a row for a student with every grade set to a value. If the student already has a row, nothing changes.
+  @name addRow
+  @date 1/24/2024
+  @parameters long, double
+  @returns int
+  */
+  public int addRow(long student, double grade) {
+    // Variables
+    int i = Arrays.binarySearch(students, 0, rows, student);
+    int stride = ids.length;
+    GradeStore taller;
+
+    // Student already has a row
+    if (i >= 0) return i;
+    i = -i - 1;
+
+    // Grow to double the rows if full
+    if (rows == students.length) {
+      students = Arrays.copyOf(students, rows * 2);
+      taller = grades.create(rows * 2 * stride);
+      grades.copyTo(0, taller, 0, rows * stride);
+      grades = taller;
+      rowSums = Arrays.copyOf(rowSums, rows * 2);
+      rowCounts = Arrays.copyOf(rowCounts, rows * 2);
+      for (int c = 0; c < columns; c++) {
+        ungraded[c] = Arrays.copyOf(ungraded[c], words(rows * 2));
+      }
+    }
+
+    // Move later rows down and fill the new row
+    System.arraycopy(students, i, students, i + 1, rows - i);
+    grades.move(i * stride, (i + 1) * stride, (rows - i) * stride);
+    System.arraycopy(rowSums, i, rowSums, i + 1, rows - i);
+    System.arraycopy(rowCounts, i, rowCounts, i + 1, rows - i);
+    students[i] = student;
+    grades.fill(i * stride, i * stride + columns, grade);
+    rowSums[i] = 0;
+    rowCounts[i] = 0;
+    for (int c = 0; c < columns; c++) {
+      insertBit(ungraded[c], i, rows, grade == UNGRADED);
+    }
+    rows++;
+
+    // Count the new row, then each of its grades
+    total += rowAverage(i);
+    if (isGraded(grade)) {
+      for (int c = 0; c < columns; c++) {
+        changeRow(i, ABSENT, grade);
+        changeColumn(c, ABSENT, grade);
+      }
+    }
+    return i;
+  }
+
+  /*
+  This method removes the row of a student
+  @name removeRow
+  @date 1/24/2024
+  @parameters long
+  @returns void
+  */
+  public void removeRow(long student) {
+    // Variables
+    int i = row(student);
+    int stride = ids.length;
+
+    // Student has no row
+    if (i < 0) return;
+
+    // Take the row's grades out of each column and its average out of the total
+    for (int c = 0; c < columns; c++) {
+      changeColumn(c, get(i, c), ABSENT);
+      deleteBit(ungraded[c], i, rows);
+    }
+    if (rowCounts[i] > 0) rowHistogram.remove(rowAverage(i));
+    total -= rowAverage(i);
+    if (ranking != null) ranking.remove(student);
+
+    // Move later rows up
+    System.arraycopy(students, i + 1, students, i, rows - i - 1);
+    grades.move((i + 1) * stride, i * stride, (rows - i - 1) * stride);
+    System.arraycopy(rowSums, i + 1, rowSums, i, rows - i - 1);
+    System.arraycopy(rowCounts, i + 1, rowCounts, i, rows - i - 1);
+    rows--;
+  }
+
+  /*
+  This method adds a column for an assignment with every grade set to a value. If the assignment already has a column, nothing changes.
+  @name addColumn
+  @date 1/24/2024
+  @parameters Assignment, double
+  @returns int
+  */
+  public int addColumn(Assignment a, double grade) {
+    // Variables
+    int i = Arrays.binarySearch(ids, 0, columns, a.getID());
+    int stride;
+
+    // Assignment already has a column
+    if (i >= 0) return i;
+    i = -i - 1;
+
+    // Widen to double the columns if full
+    if (columns == ids.length) restride(columns * 2);
+    stride = ids.length;
+
+    // Move later columns right in each row and fill the new column
+    System.arraycopy(ids, i, ids, i + 1, columns - i);
+    System.arraycopy(assignments, i, assignments, i + 1, columns - i);
+    System.arraycopy(columnSums, i, columnSums, i + 1, columns - i);
+    System.arraycopy(columnCounts, i, columnCounts, i + 1, columns - i);
+    System.arraycopy(ungraded, i, ungraded, i + 1, columns - i);
+    System.arraycopy(columnHistograms, i, columnHistograms, i + 1, columns - i);
+    ids[i] = a.getID();
+    assignments[i] = a;
+    columnSums[i] = 0;
+    columnCounts[i] = 0;
+    ungraded[i] = new long[words(students.length)];
+    columnHistograms[i] = new GradeHistogram();
+    for (int r = 0; r < rows; r++) {
+      grades.move(r * stride + i, r * stride + i + 1, columns - i);
+      grades.set(r * stride + i, grade);
+      if (grade == UNGRADED) ungraded[i][r >>> 6] |= 1L << r;
+    }
+    columns++;
+
+    // Count the new grades
+    if (isGraded(grade)) {
+      for (int r = 0; r < rows; r++) {
+        changeRow(r, ABSENT, grade);
+        changeColumn(i, ABSENT, grade);
+      }
+    }
+    return i;
+  }
+
+  /*
+  This method removes the column of an assignment
+  @name removeColumn
+  @date 1/24/2024
+  @parameters int
+  @returns void
+  */
+  public void removeColumn(int id) {
+    // Variables
+    int i = column(id);
+    int stride = ids.length;
+
+    // Assignment has no column
+    if (i < 0) return;
+
+    // Take the column's grades out of each row
+    for (int r = 0; r < rows; r++) {
+      changeRow(r, get(r, i), ABSENT);
+    }
+
+    // Move later columns left in each row
+    System.arraycopy(ids, i + 1, ids, i, columns - i - 1);
+    System.arraycopy(assignments, i + 1, assignments, i, columns - i - 1);
+    System.arraycopy(columnSums, i + 1, columnSums, i, columns - i - 1);
+    System.arraycopy(columnCounts, i + 1, columnCounts, i, columns - i - 1);
+    System.arraycopy(ungraded, i + 1, ungraded, i, columns - i - 1);
+    System.arraycopy(columnHistograms, i + 1, columnHistograms, i, columns - i - 1);
+    assignments[columns - 1] = null;
+    ungraded[columns - 1] = null;
+    columnHistograms[columns - 1] = null;
+    for (int r = 0; r < rows; r++) {
+      grades.move(r * stride + i + 1, r * stride + i, columns - i - 1);
+    }
+    columns--;
+  }
+
+  /*
+  This method gets the grade at a row and column
+  @name get
+  @date 1/24/2024
+  @parameters int, int
+  @returns double
+  */
+  public double get(int row, int column) {
+    return grades.get(row * ids.length + column);
+  }
+
+  /*
+  This method sets the grade at a row and column and updates the sums it is counted in
+  @name set
+  @date 1/24/2024
+  @parameters int, int, double
+  @returns void
+  */
+  public void set(int row, int column, double grade) {
+    // Variables
+    int i = row * ids.length + column;
+    double old = grades.get(i);
+
+    // Put in the new grade
+    grades.set(i, grade);
+    if (grade == UNGRADED) ungraded[column][row >>> 6] |= 1L << row;
+    else ungraded[column][row >>> 6] &= ~(1L << row);
+
+    // Replace the old grade in the row and column sums
+    changeRow(row, old, grade);
+    changeColumn(column, old, grade);
+  }
+
+  /*
+  This method replaces one grade of a row in the row's sum, its average in the row histogram, the total and the ranking
+  @name changeRow
+  @date 1/24/2024
+  @parameters int, double, double
+  @returns void
+  */
+  private void changeRow(int row, double old, double grade) {
+    // Variables
+    double before = rowAverage(row);
+
+    // Neither grade is counted
+    if (!isGraded(old) && !isGraded(grade)) return;
+
+    // Take out the old grade and the row's average
+    if (rowCounts[row] > 0) rowHistogram.remove(before);
+    if (isGraded(old)) rowSums[row] = --rowCounts[row] == 0 ? 0 : rowSums[row] - old;
+
+    // Put in the new grade
+    if (isGraded(grade)) {
+      rowSums[row] += grade;
+      rowCounts[row]++;
+    }
+
+    // Move the total by the change in the row's average
+    total += rowAverage(row) - before;
+    if (rowCounts[row] > 0) rowHistogram.add(rowAverage(row));
+
+    // Move the row in the ranking
+    if (ranking != null) {
+      if (rowCounts[row] > 0) ranking.put(students[row], rowAverage(row));
+      else ranking.remove(students[row]);
+    }
+  }
+
+  /*
+  This method replaces one grade of a column in the column's sum and histogram
+  @name changeColumn
+  @date 1/24/2024
+  @parameters int, double, double
+  @returns void
+  */
+  private void changeColumn(int column, double old, double grade) {
+    // Take out the old grade
+    if (isGraded(old)) {
+      columnSums[column] = --columnCounts[column] == 0 ? 0 : columnSums[column] - old;
+      columnHistograms[column].remove(old);
+    }
+
+    // Put in the new grade
+    if (isGraded(grade)) {
+      columnSums[column] += grade;
+      columnCounts[column]++;
+      columnHistograms[column].add(grade);
+    }
+  }
+
+  /*
+  This method gets a student's grade for an assignment, or ABSENT if either has no row or column
+  @name get
+  @date 1/24/2024
+  @parameters long, int
+  @returns double
+  */
+  public double get(long student, int id) {
+    // Variables
+    int r = row(student);
+    int c = column(id);
+
+    return r < 0 || c < 0 ? ABSENT : get(r, c);
+  }
+
+  /*
+  This method sets a student's grade for an assignment. Returns false if either has no row or column.
+  @name set
+  @date 1/24/2024
+  @parameters long, int, double
+  @returns boolean
+  */
+  public boolean set(long student, int id, double grade) {
+    // Variables
+    int r = row(student);
+    int c = column(id);
+
+    // Nothing to set
+    if (r < 0 || c < 0) return false;
+
+    set(r, c, grade);
+    return true;
+  }
+
+  /*
+  This method replaces every ABSENT grade in a column with a value
+  @name fillAbsent
+  @date 1/24/2024
+  @parameters int, double
+  @returns void
+  */
+  public void fillAbsent(int column, double grade) {
+    for (int r = 0; r < rows; r++) {
+      if (Double.isNaN(get(r, column))) set(r, column, grade);
+    }
+  }
+
+  /*
+  This method gets the average graded cell of a row, or -1 if none are graded
+  @name rowAverage
+  @date 1/24/2024
+  @parameters int
+  @returns double
+  */
+  public double rowAverage(int row) {
+    return rowCounts[row] == 0 ? -1 : rowSums[row] / rowCounts[row];
+  }
+
+  /*
+  This method gets the average graded cell of a column, or -1 if none are graded
+  @name columnAverage
+  @date 1/24/2024
+  @parameters int
+  @returns double
+  */
+  public double columnAverage(int column) {
+    return columnCounts[column] == 0 ? -1 : columnSums[column] / columnCounts[column];
+  }
+
+  /*
+  This method gets the histogram of the graded cells of a column
+  @name columnHistogram
+  @date 1/24/2024
+  @parameters int
+  @returns GradeHistogram
+  */
+  public GradeHistogram columnHistogram(int column) {
+    return columnHistograms[column];
+  }
+
+  /*
+  This method gets the histogram of the averages of the rows with a grade
+  @name rowHistogram
+  @date 1/24/2024
+  @parameters void
+  @returns GradeHistogram
+  */
+  public GradeHistogram rowHistogram() {
+    return rowHistogram;
+  }
+
+  /*
+  This method gets the ranking of the students of the rows with a grade by their average. The ranking is built the first time it is asked for.
+  @name ranking
+  @date 1/24/2024
+  @parameters void
+  @returns RankIndex
+  */
+  public RankIndex ranking() {
+    // Rank each row with a grade
+    if (ranking == null) {
+      ranking = new RankIndex();
+      for (int r = 0; r < rows; r++) {
+        if (rowCounts[r] > 0) ranking.put(students[r], rowAverage(r));
+      }
+    }
+    return ranking;
+  }
+
+  /*
+  This method gets the average of the row averages. A row with no grades counts as -1.
+  @name average
+  @date 1/24/2024
+  @parameters void
+  @returns double
+  */
+  public double average() {
+    return total / rows;
+  }
+
+  /*
+  This method adds up every sum again from the grades. Sums that were changed one grade at a time can differ from a new sum in the last digit, so this is also done after the grades are read.
+  @name recount
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  public void recount() {
+    // Variables
+    double grade;
+
+    // Clear sums
+    Arrays.fill(rowSums, 0, rows, 0);
+    Arrays.fill(rowCounts, 0, rows, 0);
+    Arrays.fill(columnSums, 0, columns, 0);
+    Arrays.fill(columnCounts, 0, columns, 0);
+    for (int c = 0; c < columns; c++) {
+      Arrays.fill(ungraded[c], 0);
+      columnHistograms[c].clear();
+    }
+    rowHistogram.clear();
+    total = 0;
+
+    // The ranking is built again from the new averages when it is next asked for
+    ranking = null;
+
+    // Add each graded cell to its row and column, in order of id
+    for (int r = 0; r < rows; r++) {
+      for (int c = 0; c < columns; c++) {
+        grade = get(r, c);
+        if (grade == UNGRADED) ungraded[c][r >>> 6] |= 1L << r;
+        if (!isGraded(grade)) continue;
+        rowSums[r] += grade;
+        rowCounts[r]++;
+        columnSums[c] += grade;
+        columnCounts[c]++;
+        columnHistograms[c].add(grade);
+      }
+      total += rowAverage(r);
+      if (rowCounts[r] > 0) rowHistogram.add(rowAverage(r));
+    }
+  }
+
+  /*
+  This method gets the first row from a row on that is ungraded in a column, or -1 if there are none. Rows are skipped 64 at a time where none are ungraded.
+  @name nextUngraded
+  @date 1/24/2024
+  @parameters int, int
+  @returns int
+  */
+  public int nextUngraded(int column, int row) {
+    // Variables
+    long[] bits = ungraded[column];
+    int w = row >>> 6;
+    long word;
+
+    // No rows left
+    if (row >= rows) return -1;
+
+    // Find the next word with a set bit, ignoring bits before the row
+    word = bits[w] & (-1L << row);
+    while (word == 0) {
+      if (++w * 64 >= rows) return -1;
+      word = bits[w];
+    }
+    return w * 64 + Long.numberOfTrailingZeros(word);
+  }
+
+  /*
+  This method gets the number of words a bitmap needs for a number of rows
+  @name words
+  @date 1/24/2024
+  @parameters int
+  @returns int
+  */
+  private static int words(int rows) {
+    return (rows + 63) >>> 6;
+  }
+
+  /*
+  This method inserts a bit into a bitmap and moves the bits after it up by one
+  @name insertBit
+  @date 1/24/2024
+  @parameters long[], int, int, boolean
+  @returns void
+  */
+  private static void insertBit(long[] bits, int i, int size, boolean bit) {
+    // Variables
+    int w = i >>> 6;
+    long low = (1L << i) - 1;
+
+    // Carry the top bit of each word into the next one, from the end
+    for (int k = size >>> 6; k > w; k--) {
+      bits[k] = bits[k] << 1 | bits[k - 1] >>> 63;
+    }
+
+    // Keep the bits before the new one and move the rest up
+    bits[w] = bits[w] & low | (bits[w] & ~low) << 1 | (bit ? 1L << i : 0);
+  }
+
+  /*
+  This method removes a bit from a bitmap and moves the bits after it down by one
+  @name deleteBit
+  @date 1/24/2024
+  @parameters long[], int, int
+  @returns void
+  */
+  private static void deleteBit(long[] bits, int i, int size) {
+    // Variables
+    int w = i >>> 6;
+    long low = (1L << i) - 1;
+
+    // Keep the bits before the removed one and move the rest down
+    bits[w] = bits[w] & low | (bits[w] & ~low << 1) >>> 1;
+
+    // Carry the bottom bit of each following word into the one before it
+    for (int k = w + 1; k <= (size - 1) >>> 6; k++) {
+      bits[k - 1] |= bits[k] << 63;
+      bits[k] >>>= 1;
+    }
+  }
+
+  /*
+  This method checks if a grade counts towards averages. Ungraded and absent grades don't.
+  @name isGraded
+  @date 1/24/2024
+  @parameters double
+  @returns boolean
+  */
+  private static boolean isGraded(double grade) {
+    return grade != UNGRADED && !Double.isNaN(grade);
+  }
+
+  /*
+  This method writes the grades of a row to a buffer as big-endian doubles, in order of column
+  @name writeRow
+  @date 1/24/2024
+  @parameters int, ByteBuffer
+  @returns void
+  */
+  public void writeRow(int row, ByteBuffer out) {
+    grades.write(row * ids.length, columns, out);
+  }
+
+  /*
+  This method fills a matrix that has no rows with rows read from a buffer. Students are in ascending order of id, and each row is a big-endian double for each column in order, so a row is copied in one go instead of one grade at a time.
+  @name loadRows
+  @date 1/24/2024
+  @parameters long[], ByteBuffer
+  @returns void
+  */
+  public void loadRows(long[] students, ByteBuffer in) {
+    // Variables
+    int height = Math.max(MIN_CAPACITY, students.length);
+    int stride = ids.length;
+
+    // Rows can't be merged with the ones already there
+    if (rows > 0) throw new IllegalStateException("Rows can only be loaded into a matrix without rows");
+
+    // Make room for every row at once
+    this.students = Arrays.copyOf(students, height);
+    grades = grades.create(height * stride);
+    rowSums = new double[height];
+    rowCounts = new int[height];
+    for (int c = 0; c < columns; c++) {
+      ungraded[c] = new long[words(height)];
+    }
+    rows = students.length;
+
+    // Copy each row
+    for (int r = 0; r < rows; r++) {
+      grades.read(r * stride, columns, in);
+    }
+
+    // Count the new grades
+    recount();
+  }
+
+  /*
+  This method gets the assignment of a column
+  @name getAssignment
+  @date 1/24/2024
+  @parameters int
+  @returns Assignment
+  */
+  public Assignment getAssignment(int column) {
+    return assignments[column];
+  }
+
+  /*
+  This method replaces the assignment of a column with another one with the same id
+  @name setAssignment
+  @date 1/24/2024
+  @parameters int, Assignment
+  @returns void
+  */
+  public void setAssignment(int column, Assignment a) {
+    assignments[column] = a;
+  }
+
+  /*
+  This method gets the id of the student in a row
+  @name getStudentID
+  @date 1/24/2024
+  @parameters int
+  @returns long
+  */
+  public long getStudentID(int row) {
+    return students[row];
+  }
+
+  /*
+  This method gets the number of rows
+  @name rows
+  @date 1/24/2024
+  @parameters void
+  @returns int
+  */
+  public int rows() {
+    return rows;
+  }
+
+  /*
+  This method gets the number of columns
+  @name columns
+  @date 1/24/2024
+  @parameters void
+  @returns int
+  */
+  public int columns() {
+    return columns;
+  }
+
+  /*
+  This method copies the grades into a store with room for more columns in each row
+  @name restride
+  @date 1/24/2024
+  @parameters int
+  @returns void
+  */
+  private void restride(int stride) {
+    // Variables
+    GradeStore wider = grades.create(students.length * stride);
+
+    // Copy each row
+    for (int r = 0; r < rows; r++) {
+      grades.copyTo(r * ids.length, wider, r * stride, columns);
+    }
+    grades = wider;
+    ids = Arrays.copyOf(ids, stride);
+    assignments = Arrays.copyOf(assignments, stride);
+    columnSums = Arrays.copyOf(columnSums, stride);
+    columnCounts = Arrays.copyOf(columnCounts, stride);
+    ungraded = Arrays.copyOf(ungraded, stride);
+    columnHistograms = Arrays.copyOf(columnHistograms, stride);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,94 @@
+/*
+@file GradeStore.java
+@author Ronak Patel
+@date 1/24/2024
+@description This interface holds the cells of a grade matrix as a flat run of doubles. Implementations can keep the cells in a double array on the heap or in a direct buffer outside of it, so a large district does not have every grade scanned by the garbage collector. Cells are written out in the byte order of the gradebook file.
+*/
+
+// Imports
+import java.nio.ByteBuffer;
+
+// GradeStore interface
+interface GradeStore {
+
+  /*
+  This method gets the number of cells
+  @name size
+  @date 1/24/2024
+  @parameters void
+  @returns int
+  */
+  int size();
+
+  /*
+  This method gets a cell
+  @name get
+  @date 1/24/2024
+  @parameters int
+  @returns double
+  */
+  double get(int i);
+
+  /*
+  This method sets a cell
+  @name set
+  @date 1/24/2024
+  @parameters int, double
+  @returns void
+  */
+  void set(int i, double grade);
+
+  /*
+  This method sets a range of cells to one value
+  @name fill
+  @date 1/24/2024
+  @parameters int, int, double
+  @returns void
+  */
+  void fill(int from, int to, double grade);
+
+  /*
+  This method moves a range of cells within the store. The ranges can overlap.
+  @name move
+  @date 1/24/2024
+  @parameters int, int, int
+  @returns void
+  */
+  void move(int from, int to, int length);
+
+  /*
+  This method copies a range of cells into another store
+  @name copyTo
+  @date 1/24/2024
+  @parameters int, GradeStore, int, int
+  @returns void
+  */
+  void copyTo(int from, GradeStore store, int to, int length);
+
+  /*
+  This method creates an empty store of the same kind
+  @name create
+  @date 1/24/2024
+  @parameters int
+  @returns GradeStore
+  */
+  GradeStore create(int size);
+
+  /*
+  This method writes a range of cells to a buffer as big-endian doubles
+  @name write
+  @date 1/24/2024
+  @parameters int, int, ByteBuffer
+  @returns void
+  */
+  void write(int from, int length, ByteBuffer out);
+
+  /*
+  This method reads a range of cells from a buffer of big-endian doubles
+  @name read
+  @date 1/24/2024
+  @parameters int, int, ByteBuffer
+  @returns void
+  */
+  void read(int to, int length, ByteBuffer in);
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+/*
+@file GradeView.java
+@author Ronak Patel
+@date 1/24/2024
+@description This class is a student's assignment as seen from the student. It holds no grade of its own; the grade is read from and written to the grade matrix of the student's classrooms.
+*/
+
+// GradeView class
+class GradeView extends Assignment {
+
+  // Instance variables
+  private Student student;
+
+  /*
+  Constructor that creates a view of a student's grade for an assignment
+  @date 1/24/2024
+  @parameters Student, Assignment
+  */
+  public GradeView(Student student, Assignment a) {
+    super(a.getName(), a.getID());
+    this.student = student;
+  }
+
+  /*
+  This method gets the student's grade from the first classroom that has it
+  @name getGrade
+  @date 1/24/2024
+  @parameters void
+  @returns double
+  */
+  @Override
+  public double getGrade() {
+    // Variables
+    double grade;
+
+    // Check each of the student's classrooms
+    for (Classroom c : student.getClassrooms()) {
+      grade = c.grades.get(student.getID(), getID());
+      if (!Double.isNaN(grade)) return grade;
+    }
+    return GradeMatrix.UNGRADED;
+  }
+
+  /*
+  This method sets the student's grade in every classroom that has the assignment, so copies read from an older file stay the same
+  @name grade
+  @date 1/24/2024
+  @parameters double
+  @returns void
+  */
+  @Override
+  public void grade(double grade) {
+    for (Classroom c : student.getClassrooms()) {
+      c.grades.set(student.getID(), getID(), grade);
+    }
+  }
+}
\ No newline at end of file
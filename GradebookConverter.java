@@ -0,0 +1,40 @@
+/*
+@file GradebookConverter.java
+@author Ronak Patel
+@date 1/24/2024
+@description This program converts the classroom file between the text format and the binary gradebook format. Admins and students are read from admins.txt and students.txt so the classrooms can be linked to them.
+
+Usage: java GradebookConverter classrooms.txt classrooms.mkb
+       java GradebookConverter classrooms.mkb classrooms.txt
+*/
+
+// Imports
+import java.io.File;
+import java.io.IOException;
+
+// GradebookConverter class
+class GradebookConverter {
+  public static void main(String[] args) throws IOException {
+
+    // Variables
+    Keyboard keyboard = new Keyboard();
+    StaffDatabase sd;
+    long start;
+
+    // Check arguments
+    if (args.length != 2) {
+      keyboard.print("Usage: java GradebookConverter <from file> <to file>");
+      return;
+    }
+
+    // Load classrooms in the format of the source file
+    start = System.nanoTime();
+    sd = new StaffDatabase("admins.txt", args[0], "students.txt");
+    keyboard.print("Read " + args[0] + " (" + new File(args[0]).length() + " bytes) in " + (System.nanoTime() - start) / 1000000 + " ms");
+
+    // Write classrooms in the format of the target file
+    start = System.nanoTime();
+    keyboard.exportClassroomInfo(args[1], sd);
+    keyboard.print("Wrote " + args[1] + " (" + new File(args[1]).length() + " bytes) in " + (System.nanoTime() - start) / 1000000 + " ms");
+  }
+}
\ No newline at end of file
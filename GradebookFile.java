@@ -0,0 +1,255 @@
+/*
+@file GradebookFile.java
+@author Ronak Patel
+@date 1/24/2024
+@description This class reads and writes the classrooms in a versioned binary format. Each classroom stores its assignment names and ids once, a sorted column of student ids, and a packed matrix of grades with one row per student and one column per assignment. The file is read through a FileChannel without parsing any text.
+
+File layout (big-endian):
+  int magic, int version, int number of classrooms
+  for each classroom:
+    string name, int id
+    int number of admins, long admin ids
+    int number of assignments, then int id and string name of each assignment
+    int number of students, long student ids in ascending order
+    double grades, row by row (-1 = ungraded)
+  strings are an int byte length followed by UTF-8 bytes
+
+!Data persisted in classrooms.mkb when the classroom file ends in .mkb!
+*/
+
+// Imports
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+// GradebookFile class
+class GradebookFile {
+
+  // File identification
+  static final int MAGIC = 0x4D4B424B;
+  static final int VERSION = 1;
+  static final String EXTENSION = ".mkb";
+
+  /*
+  This method checks if a classroom file uses the binary format
+  @name isBinary
+  @date 1/24/2024
+  @parameters String
+  @returns boolean
+  */
+  public static boolean isBinary(String file) {
+    return file.endsWith(EXTENSION);
+  }
+
+  /*
+  This method writes all classrooms to a file in the snapshot
+  @name write
+  @date 1/24/2024
+  @parameters Snapshot, String, ClassroomDatabase
+  @returns void
+  */
+  public static void write(Snapshot snapshot, String file, ClassroomDatabase cd) throws IOException {
+    // Variables
+    SnapshotWriter sw = snapshot.open(file);
+    ByteBuffer header = ByteBuffer.allocate(12);
+
+    // Write header
+    header.putInt(MAGIC).putInt(VERSION).putInt(cd.getClassrooms().size());
+    header.flip();
+    sw.write(header);
+
+    // Write each classroom as one section
+    for (Classroom c : cd.getClassrooms()) {
+      sw.write(encode(c));
+    }
+
+    // Flush the file
+    sw.close();
+  }
+
+  /*
+  This method encodes one classroom section
+  @name encode
+  @date 1/24/2024
+  @parameters Classroom
+  @returns ByteBuffer
+  */
+  private static ByteBuffer encode(Classroom c) {
+    // Variables
+    IdList<Assignment> assignments = c.getAssignmentDatabase().getAssignments();
+    GradeMatrix grades = c.getGrades();
+    IdList<Student> students = c.getStudents();
+    byte[] name = c.getName().getBytes(StandardCharsets.UTF_8);
+    byte[][] names = new byte[assignments.size()][];
+    int size = 4 + name.length + 4 + 4 + 8 * c.getAdmins().size() + 4 + 4 + 8 * students.size();
+    ByteBuffer buffer;
+    boolean aligned = grades.columns() == assignments.size();
+    int row;
+    int column;
+
+    // Encode assignment names and add up the section size
+    for (int i = 0; i < assignments.size(); i++) {
+      names[i] = assignments.get(i).getName().getBytes(StandardCharsets.UTF_8);
+      size += 4 + 4 + names[i].length;
+    }
+    size += 8 * students.size() * assignments.size();
+    buffer = ByteBuffer.allocate(size);
+
+    // Name and id
+    buffer.putInt(name.length).put(name);
+    buffer.putInt(c.getID());
+
+    // Admin ids
+    buffer.putInt(c.getAdmins().size());
+    for (Admin admin : c.getAdmins()) {
+      buffer.putLong(admin.getID());
+    }
+
+    // Assignment dictionary
+    buffer.putInt(assignments.size());
+    for (int i = 0; i < assignments.size(); i++) {
+      buffer.putInt(assignments.get(i).getID());
+      buffer.putInt(names[i].length).put(names[i]);
+    }
+
+    // Student id column. Students are kept sorted by id
+    buffer.putInt(students.size());
+    for (Student s : students) {
+      buffer.putLong(s.getID());
+    }
+
+    // Columns in the same order as the dictionary let whole rows be copied
+    for (int i = 0; aligned && i < assignments.size(); i++) {
+      aligned = grades.getAssignment(i).getID() == assignments.get(i).getID();
+    }
+
+    // Grade matrix
+    for (Student s : students) {
+      row = grades.row(s.getID());
+      if (aligned && row >= 0) {
+        grades.writeRow(row, buffer);
+        continue;
+      }
+      for (Assignment assignment : assignments) {
+        column = grades.column(assignment.getID());
+        buffer.putDouble(row < 0 || column < 0 ? -1 : grades.get(row, column));
+      }
+    }
+
+    // Return section ready to write
+    buffer.flip();
+    return buffer;
+  }
+
+  /*
+  This method reads all classrooms from a file into the classroom database. A missing file has no classrooms.
+  @name read
+  @date 1/24/2024
+  @parameters String, StaffDatabase
+  @returns void
+  */
+  public static void read(String file, StaffDatabase sd) throws IOException {
+    // Link each classroom as it was read
+    for (ClassroomRecord r : readRecords(file)) {
+      sd.getClassroomDatabase().add(r.link(sd));
+    }
+  }
+
+  /*
+  This method reads all classrooms from a file without linking them to admins and students. A missing file has no classrooms.
+  @name readRecords
+  @date 1/24/2024
+  @parameters String
+  @returns ArrayList<ClassroomRecord>
+  */
+  public static ArrayList<ClassroomRecord> readRecords(String file) throws IOException {
+    // Variables
+    ArrayList<ClassroomRecord> records = new ArrayList<ClassroomRecord>();
+    ByteBuffer buffer;
+    int nClassrooms;
+
+    // If there is no file, there are no classrooms
+    if (!new File(file).exists()) return records;
+
+    // Map the whole file
+    try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+
+    // Check header
+    if (buffer.getInt() != MAGIC) throw new IOException(file + " is not a gradebook file");
+    if (buffer.getInt() != VERSION) throw new IOException(file + " has an unsupported gradebook version");
+
+    // Read each classroom
+    nClassrooms = buffer.getInt();
+    for (int i = 0; i < nClassrooms; i++) {
+      records.add(decode(buffer));
+    }
+
+    // Return records
+    return records;
+  }
+
+  /*
+  This method decodes one classroom section. The grades are kept as a slice of the buffer, so they are copied into the grade matrix row by row when the classroom is linked.
+  @name decode
+  @date 1/24/2024
+  @parameters ByteBuffer
+  @returns ClassroomRecord
+  */
+  private static ClassroomRecord decode(ByteBuffer buffer) throws IOException {
+    // Variables
+    ClassroomRecord r = new ClassroomRecord(getString(buffer), buffer.getInt());
+    int size;
+
+    // Admins
+    r.admins = new long[buffer.getInt()];
+    for (int i = 0; i < r.admins.length; i++) {
+      r.admins[i] = buffer.getLong();
+    }
+
+    // Assignment dictionary
+    r.dictionary = new Assignment[buffer.getInt()];
+    for (int i = 0; i < r.dictionary.length; i++) {
+      int id = buffer.getInt();
+      r.dictionary[i] = new Assignment(getString(buffer), id);
+      if (i > 0 && id <= r.dictionary[i - 1].getID()) throw new IOException("Assignments of classroom " + r.id + " are out of order");
+    }
+
+    // Student ids
+    r.students = new long[buffer.getInt()];
+    for (int i = 0; i < r.students.length; i++) {
+      r.students[i] = buffer.getLong();
+      if (i > 0 && r.students[i] <= r.students[i - 1]) throw new IOException("Students of classroom " + r.id + " are out of order");
+    }
+
+    // Grades, left in the file until the classroom is linked
+    size = 8 * r.students.length * r.dictionary.length;
+    r.grades = buffer.slice();
+    r.grades.limit(size);
+    buffer.position(buffer.position() + size);
+
+    // Return record
+    return r;
+  }
+
+  /*
+  This method reads a length-prefixed UTF-8 string
+  @name getString
+  @date 1/24/2024
+  @parameters ByteBuffer
+  @returns String
+  */
+  private static String getString(ByteBuffer buffer) {
+    // Variables
+    byte[] bytes = new byte[buffer.getInt()];
+
+    // Read bytes and decode them
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,147 @@
+/*
+@file HeapGradeStore.java
+@author Ronak Patel
+@date 1/24/2024
+@description This class keeps the cells of a grade matrix in a double array on the heap. It is the default store.
+*/
+
+// Imports
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// HeapGradeStore class
+class HeapGradeStore implements GradeStore {
+
+  // Instance variables
+  private double[] grades;
+
+  /*
+  Constructor that creates a store of cells set to 0
+  @date 1/24/2024
+  @parameters int
+  */
+  public HeapGradeStore(int size) {
+    grades = new double[size];
+  }
+
+  /*
+  This method gets the number of cells, which is the length of the array
+  @name size
+  @date 1/24/2024
+  @parameters void
+  @returns int
+  */
+  @Override
+  public int size() {
+    return grades.length;
+  }
+
+  /*
+  This method gets the grade in a cell
+  @name get
+  @date 1/24/2024
+  @parameters int
+  @returns double
+  */
+  @Override
+  public double get(int i) {
+    return grades[i];
+  }
+
+  /*
+  This method sets the grade in a cell
+  @name set
+  @date 1/24/2024
+  @parameters int, double
+  @returns void
+  */
+  @Override
+  public void set(int i, double grade) {
+    grades[i] = grade;
+  }
+
+  /*
+  This method sets every cell from one index up to another to a grade
+  @name fill
+  @date 1/24/2024
+  @parameters int, int, double
+  @returns void
+  */
+  @Override
+  public void fill(int from, int to, double grade) {
+    Arrays.fill(grades, from, to, grade);
+  }
+
+  /*
+  This method moves a run of cells within the array. System.arraycopy handles runs that overlap.
+  @name move
+  @date 1/24/2024
+  @parameters int, int, int
+  @returns void
+  */
+  @Override
+  public void move(int from, int to, int length) {
+    System.arraycopy(grades, from, grades, to, length);
+  }
+
+  /*
+  This method copies a run of cells into another store. Another heap store gets a single array copy.
+  @name copyTo
+  @date 1/24/2024
+  @parameters int, GradeStore, int, int
+  @returns void
+  */
+  @Override
+  public void copyTo(int from, GradeStore store, int to, int length) {
+    // Copy the array straight into a store of the same kind
+    if (store instanceof HeapGradeStore) {
+      System.arraycopy(grades, from, ((HeapGradeStore) store).grades, to, length);
+      return;
+    }
+
+    // Copy one cell at a time into any other store
+    for (int i = 0; i < length; i++) {
+      store.set(to + i, grades[from + i]);
+    }
+  }
+
+  /*
+  This method creates an empty heap store, so a grown matrix keeps the same kind of store
+  @name create
+  @date 1/24/2024
+  @parameters int
+  @returns GradeStore
+  */
+  @Override
+  public GradeStore create(int size) {
+    return new HeapGradeStore(size);
+  }
+
+  /*
+  This method writes a run of cells to a buffer as 8 byte doubles in the buffer's byte order
+  @name write
+  @date 1/24/2024
+  @parameters int, int, ByteBuffer
+  @returns void
+  */
+  @Override
+  public void write(int from, int length, ByteBuffer out) {
+    // The double view shares the buffer's byte order but not its position
+    out.asDoubleBuffer().put(grades, from, length);
+    out.position(out.position() + length * 8);
+  }
+
+  /*
+  This method reads a run of cells written by write from a buffer
+  @name read
+  @date 1/24/2024
+  @parameters int, int, ByteBuffer
+  @returns void
+  */
+  @Override
+  public void read(int to, int length, ByteBuffer in) {
+    // The double view shares the buffer's byte order but not its position
+    in.asDoubleBuffer().get(grades, to, length);
+    in.position(in.position() + length * 8);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,68 @@
+/*
+@file IdAllocator.java
+@author Ronak Patel
+@date 1/24/2024
+@description This class hands out ids for one kind of object. Ids are given in order from a sequence that wraps around at the end of the id range, and an id that is already taken is skipped. The next id in the sequence is kept in the manifest, so it is committed with the files that use the ids and new ids never repeat across restarts. Taken ids only need to be checked for ids given before there was a sequence.
+*/
+
+// Imports
+import java.util.function.LongPredicate;
+
+// IdAllocator class
+class IdAllocator {
+
+  // Instance variables
+  private Manifest manifest;
+  private String name;
+  private long min;
+  private long max;
+  private long next;
+
+  // Names of the sequences in the manifest
+  public static final String STUDENTS = "students";
+  public static final String ADMINS = "admins";
+  public static final String CLASSROOMS = "classrooms";
+  public static final String ASSIGNMENTS = "assignments";
+
+  /*
+  Constructor that continues the sequence kept in a manifest. If the manifest is null, the sequence is only kept in memory.
+  @date 1/24/2024
+  @parameters Manifest, String, long, long
+  */
+  public IdAllocator(Manifest manifest, String name, long min, long max) {
+    this.manifest = manifest;
+    this.name = name;
+    this.min = min;
+    this.max = max;
+    next = min;
+  }
+
+  /*
+  This method gets the next id that is not taken and moves the sequence past it
+  @name allocate
+  @date 1/24/2024
+  @parameters LongPredicate
+  @returns long
+  */
+  public long allocate(LongPredicate taken) {
+    // Variables
+    long id = manifest == null ? next : manifest.getSequence(name, min);
+
+    // Sequence from an older manifest with another range
+    if (id < min || id > max) id = min;
+
+    // Skip taken ids, wrapping around once at most
+    for (long tried = 0; tried <= max - min; tried++) {
+      if (!taken.test(id)) {
+        // Continue after the id
+        next = id == max ? min : id + 1;
+        if (manifest != null) manifest.setSequence(name, next);
+        return id;
+      }
+      id = id == max ? min : id + 1;
+    }
+
+    // Every id in the range is taken
+    throw new IllegalStateException("No " + name + " ids are left");
+  }
+}
\ No newline at end of file
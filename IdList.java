@@ -0,0 +1,510 @@
+/*
+@file IdList.java
+@author Ronak Patel
+@date 1/24/2024
+@description This class is a list that keeps its elements ordered by id. It is a treap where each node also stores the size of its subtree, so inserting, removing, looking up an id and getting the element at an index all take O(log n) expected time. Iterating goes through the elements in id order, so it can be used anywhere an ArrayList sorted by id was used before. Adding an element puts it in its place by id instead of at the end.
+*/
+
+// Imports
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.function.ToLongFunction;
+
+// IdList class
+class IdList<T> extends AbstractList<T> {
+
+  // Node of the treap
+  private static class Node<T> {
+    T value;
+    long key;
+    int priority;
+    int size;
+    Node<T> left;
+    Node<T> right;
+
+    /*
+    Constructor that creates a leaf node
+    @date 1/24/2024
+    @parameters T, long, int
+    */
+    Node(T value, long key, int priority) {
+      this.value = value;
+      this.key = key;
+      this.priority = priority;
+      size = 1;
+    }
+  }
+
+  // Instance variables
+  private ToLongFunction<T> id;
+  private Node<T> root;
+  private Random random;
+
+  /*
+  Constructor that assigns the function giving the id of an element
+  @date 1/24/2024
+  @parameters ToLongFunction<T>
+  */
+  public IdList(ToLongFunction<T> id) {
+    this.id = id;
+    random = new Random();
+  }
+
+  /*
+  This method adds an element in its place by id. Elements with the same id keep the order they were added in.
+  @name add
+  @date 1/24/2024
+  @parameters T
+  @returns boolean
+  */
+  @Override
+  public boolean add(T value) {
+    root = insert(root, new Node<T>(value, id.applyAsLong(value), random.nextInt()));
+    modCount++;
+    return true;
+  }
+
+  /*
+  This method gets the element at an index
+  @name get
+  @date 1/24/2024
+  @parameters int
+  @returns T
+  */
+  @Override
+  public T get(int index) {
+    return node(index).value;
+  }
+
+  /*
+  This method gets the number of elements
+  @name size
+  @date 1/24/2024
+  @parameters void
+  @returns int
+  */
+  @Override
+  public int size() {
+    return size(root);
+  }
+
+  /*
+  This method removes the element at an index
+  @name remove
+  @date 1/24/2024
+  @parameters int
+  @returns T
+  */
+  @Override
+  public T remove(int index) {
+    // Variables
+    T value = node(index).value;
+
+    // Unlink node
+    root = delete(root, index);
+    modCount++;
+    return value;
+  }
+
+  /*
+  This method removes an element. The element is found by its id, so this takes O(log n) expected time.
+  @name remove
+  @date 1/24/2024
+  @parameters Object
+  @returns boolean
+  */
+  @Override
+  public boolean remove(Object o) {
+    // Variables
+    int index = indexOf(o);
+
+    // Remove if found
+    if (index == -1) return false;
+    remove(index);
+    return true;
+  }
+
+  /*
+  This method gets the index of an element, or -1 if it is not in the list
+  @name indexOf
+  @date 1/24/2024
+  @parameters Object
+  @returns int
+  */
+  @Override
+  @SuppressWarnings("unchecked")
+  public int indexOf(Object o) {
+    // Variables
+    long key;
+
+    // Elements without an id are never in the list
+    if (o == null) return -1;
+    try {
+      key = id.applyAsLong((T) o);
+    }
+    catch (ClassCastException e) {
+      return -1;
+    }
+
+    // Check each element with the same id
+    for (int i = rank(key); i < size(); i++) {
+      Node<T> n = node(i);
+      if (n.key != key) break;
+      if (n.value.equals(o)) return i;
+    }
+    return -1;
+  }
+
+  /*
+  This method checks if an element is in the list
+  @name contains
+  @date 1/24/2024
+  @parameters Object
+  @returns boolean
+  */
+  @Override
+  public boolean contains(Object o) {
+    return indexOf(o) != -1;
+  }
+
+  /*
+  This method searches for the first element with an id
+  @name search
+  @date 1/24/2024
+  @parameters long
+  @returns T
+  */
+  public T search(long key) {
+    // Variables
+    Node<T> n = root;
+    T found = null;
+
+    // Go left on a match to find the first one
+    while (n != null) {
+      if (n.key < key) {
+        n = n.right;
+      }
+      else {
+        if (n.key == key) found = n.value;
+        n = n.left;
+      }
+    }
+    return found;
+  }
+
+  /*
+  This method counts the elements with an id less than the given id
+  @name rank
+  @date 1/24/2024
+  @parameters long
+  @returns int
+  */
+  public int rank(long key) {
+    // Variables
+    Node<T> n = root;
+    int rank = 0;
+
+    // Add up everything to the left of the path
+    while (n != null) {
+      if (n.key < key) {
+        rank += size(n.left) + 1;
+        n = n.right;
+      }
+      else {
+        n = n.left;
+      }
+    }
+    return rank;
+  }
+
+  /*
+  This method removes every element
+  @name clear
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  @Override
+  public void clear() {
+    root = null;
+    modCount++;
+  }
+
+  /*
+  This method returns an iterator going through the elements in id order
+  @name iterator
+  @date 1/24/2024
+  @parameters void
+  @returns Iterator<T>
+  */
+  @Override
+  public Iterator<T> iterator() {
+    return new Itr();
+  }
+
+  /*
+  This method finds the node at an index
+  @name node
+  @date 1/24/2024
+  @parameters int
+  @returns Node<T>
+  */
+  private Node<T> node(int index) {
+    // Variables
+    Node<T> n = root;
+
+    // Check bounds
+    if (index < 0 || index >= size()) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+
+    // Walk down by subtree sizes
+    while (true) {
+      int left = size(n.left);
+      if (index < left) {
+        n = n.left;
+      }
+      else if (index == left) {
+        return n;
+      }
+      else {
+        index -= left + 1;
+        n = n.right;
+      }
+    }
+  }
+
+  /*
+  This method inserts a node into a subtree, after any node with the same id, and returns the new root of the subtree
+  @name insert
+  @date 1/24/2024
+  @parameters Node<T>, Node<T>
+  @returns Node<T>
+  */
+  private Node<T> insert(Node<T> n, Node<T> node) {
+    // Empty subtree
+    if (n == null) return node;
+
+    // Insert on the correct side, then rotate the node up while its priority is higher
+    if (node.key < n.key) {
+      n.left = insert(n.left, node);
+      update(n);
+      if (n.left.priority > n.priority) n = rotateRight(n);
+    }
+    else {
+      n.right = insert(n.right, node);
+      update(n);
+      if (n.right.priority > n.priority) n = rotateLeft(n);
+    }
+    return n;
+  }
+
+  /*
+  This method deletes the node at an index of a subtree and returns the new root of the subtree
+  @name delete
+  @date 1/24/2024
+  @parameters Node<T>, int
+  @returns Node<T>
+  */
+  private Node<T> delete(Node<T> n, int index) {
+    // Variables
+    int left = size(n.left);
+
+    // Find the node, then join its subtrees in its place
+    if (index < left) {
+      n.left = delete(n.left, index);
+    }
+    else if (index > left) {
+      n.right = delete(n.right, index - left - 1);
+    }
+    else {
+      return join(n.left, n.right);
+    }
+    update(n);
+    return n;
+  }
+
+  /*
+  This method joins two subtrees where every id on the left comes before every id on the right
+  @name join
+  @date 1/24/2024
+  @parameters Node<T>, Node<T>
+  @returns Node<T>
+  */
+  private Node<T> join(Node<T> a, Node<T> b) {
+    // One side is empty
+    if (a == null) return b;
+    if (b == null) return a;
+
+    // The root with the higher priority stays on top
+    if (a.priority > b.priority) {
+      a.right = join(a.right, b);
+      update(a);
+      return a;
+    }
+    b.left = join(a, b.left);
+    update(b);
+    return b;
+  }
+
+  /*
+  This method rotates the left child of a node above it
+  @name rotateRight
+  @date 1/24/2024
+  @parameters Node<T>
+  @returns Node<T>
+  */
+  private Node<T> rotateRight(Node<T> n) {
+    // Variables
+    Node<T> l = n.left;
+
+    // Rotate and fix sizes bottom up
+    n.left = l.right;
+    l.right = n;
+    update(n);
+    update(l);
+    return l;
+  }
+
+  /*
+  This method rotates the right child of a node above it
+  @name rotateLeft
+  @date 1/24/2024
+  @parameters Node<T>
+  @returns Node<T>
+  */
+  private Node<T> rotateLeft(Node<T> n) {
+    // Variables
+    Node<T> r = n.right;
+
+    // Rotate and fix sizes bottom up
+    n.right = r.left;
+    r.left = n;
+    update(n);
+    update(r);
+    return r;
+  }
+
+  /*
+  This method recomputes the size of a node's subtree from its children
+  @name update
+  @date 1/24/2024
+  @parameters Node<T>
+  @returns void
+  */
+  private void update(Node<T> n) {
+    n.size = size(n.left) + size(n.right) + 1;
+  }
+
+  /*
+  This method gets the size of a subtree, which is 0 if it is empty
+  @name size
+  @date 1/24/2024
+  @parameters Node<T>
+  @returns int
+  */
+  private static <T> int size(Node<T> n) {
+    return n == null ? 0 : n.size;
+  }
+
+  // Iterator going through the tree in order with a stack of the nodes still to visit
+  private class Itr implements Iterator<T> {
+    private ArrayDeque<Node<T>> stack = new ArrayDeque<Node<T>>();
+    private int next;
+    private boolean removable;
+    private int expected = modCount;
+
+    /*
+    Constructor that starts at the first element
+    @date 1/24/2024
+    @parameters void
+    */
+    Itr() {
+      seek(0);
+    }
+
+    /*
+    This method rebuilds the stack so the next element is the one at an index
+    @name seek
+    @date 1/24/2024
+    @parameters int
+    @returns void
+    */
+    private void seek(int index) {
+      // Variables
+      Node<T> n = root;
+
+      // Keep every node on the path that comes after the index
+      stack.clear();
+      while (n != null) {
+        int left = size(n.left);
+        if (index <= left) {
+          stack.push(n);
+          if (index == left) break;
+          n = n.left;
+        }
+        else {
+          index -= left + 1;
+          n = n.right;
+        }
+      }
+    }
+
+    /*
+    This method checks if there is another element
+    @name hasNext
+    @date 1/24/2024
+    @parameters void
+    @returns boolean
+    */
+    public boolean hasNext() {
+      return !stack.isEmpty();
+    }
+
+    /*
+    This method returns the next element
+    @name next
+    @date 1/24/2024
+    @parameters void
+    @returns T
+    */
+    public T next() {
+      // Variables
+      Node<T> n;
+
+      // Check state
+      if (modCount != expected) throw new ConcurrentModificationException();
+      if (stack.isEmpty()) throw new NoSuchElementException();
+
+      // Visit node, then queue the leftmost path of its right subtree
+      n = stack.pop();
+      for (Node<T> m = n.right; m != null; m = m.left) {
+        stack.push(m);
+      }
+      next++;
+      removable = true;
+      return n.value;
+    }
+
+    /*
+    This method removes the element last returned
+    @name remove
+    @date 1/24/2024
+    @parameters void
+    @returns void
+    */
+    public void remove() {
+      // Check state
+      if (!removable) throw new IllegalStateException();
+      if (modCount != expected) throw new ConcurrentModificationException();
+
+      // Remove and continue from the same position
+      IdList.this.remove(--next);
+      seek(next);
+      removable = false;
+      expected = modCount;
+    }
+  }
+}
\ No newline at end of file
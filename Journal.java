@@ -0,0 +1,391 @@
+/*
+@file Journal.java
+@author Ronak Patel
+@date 1/24/2024
+@description This class is an append-only journal of changes to the classrooms. Each change is appended as one small record and flushed to disk, so classrooms.txt only needs to be rewritten at a checkpoint. On startup the journal is replayed over the last checkpoint. When a persister is running, records are handed to it and written by its thread in batches with one flush each. The first line of the journal is the generation it was started in, so a journal left behind by a crash right after a checkpoint is not replayed over that checkpoint.
+
+!Data persisted in classrooms.txt.journal!
+*/
+
+// Imports
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Journal class
+class Journal {
+
+  // Record types
+  static final String GRADE_SET = "GRADE";
+  static final String STUDENT_ENROLLED = "ENROLL";
+  static final String ASSIGNMENT_CREATED = "CREATE";
+  static final String ASSIGNMENT_REMOVED = "REMOVE";
+  static final String ADMIN_ADDED = "ADMIN";
+
+  // Number of records after which classrooms.txt is rewritten
+  static final int CHECKPOINT_INTERVAL = Integer.getInteger("markbook.journal.checkpoint", 1000);
+
+  // Instance variables
+  private String file;
+  private String checkpointFile;
+  private Manifest manifest;
+  private FileOutputStream out;
+  private int records;
+  private boolean checkpointRequested;
+  private Persister persister;
+
+  /*
+  Constructor that assigns the journal file, the file it is checkpointed into, and the manifest recording when that file was written
+  @date 1/24/2024
+  @parameters String, String, Manifest
+  */
+  public Journal(String file, String checkpointFile, Manifest manifest) {
+    this.file = file;
+    this.checkpointFile = checkpointFile;
+    this.manifest = manifest;
+  }
+
+  /*
+  This method records a grade being set for a student's assignment
+  @name gradeSet
+  @date 1/24/2024
+  @parameters int, long, int, double
+  @returns boolean
+  */
+  public boolean gradeSet(int classroomID, long studentID, int assignmentID, double grade) {
+    return append(GRADE_SET + " " + classroomID + " " + studentID + " " + assignmentID + " " + grade);
+  }
+
+  /*
+  This method records a student being added to a classroom
+  @name studentEnrolled
+  @date 1/24/2024
+  @parameters int, long
+  @returns boolean
+  */
+  public boolean studentEnrolled(int classroomID, long studentID) {
+    return append(STUDENT_ENROLLED + " " + classroomID + " " + studentID);
+  }
+
+  /*
+  This method records an assignment being created in a classroom
+  @name assignmentCreated
+  @date 1/24/2024
+  @parameters int, int, String
+  @returns boolean
+  */
+  public boolean assignmentCreated(int classroomID, int assignmentID, String name) {
+    return append(ASSIGNMENT_CREATED + " " + classroomID + " " + assignmentID + " " + name);
+  }
+
+  /*
+  This method records an assignment being removed from a classroom
+  @name assignmentRemoved
+  @date 1/24/2024
+  @parameters int, int
+  @returns boolean
+  */
+  public boolean assignmentRemoved(int classroomID, int assignmentID) {
+    return append(ASSIGNMENT_REMOVED + " " + classroomID + " " + assignmentID);
+  }
+
+  /*
+  This method records an admin being added to a classroom
+  @name adminAdded
+  @date 1/24/2024
+  @parameters int, long
+  @returns boolean
+  */
+  public boolean adminAdded(int classroomID, long adminID) {
+    return append(ADMIN_ADDED + " " + classroomID + " " + adminID);
+  }
+
+  /*
+  This method appends a record to the journal and forces it to disk, or hands it to the persister if one is running. If the record can't be written, false is returned so the caller can fall back to a full rewrite.
+  @name append
+  @date 1/24/2024
+  @parameters String
+  @returns boolean
+  */
+  private boolean append(String record) {
+    // Let the persister write the record with the next batch
+    if (persister != null) {
+      persister.record(record);
+      records++;
+      return true;
+    }
+    
+    // Handle IO errors
+    try {
+      // Write record and flush it to disk
+      write(Collections.singletonList(record));
+      records++;
+      return true;
+    }
+    // Catch error
+    catch (IOException e) {
+      e.printStackTrace();
+      return false;
+    }
+  }
+
+  /*
+  This method writes records to the end of the journal and forces them to disk once
+  @name write
+  @date 1/24/2024
+  @parameters List<String>
+  @returns void
+  */
+  public void write(List<String> batch) throws IOException {
+    // Variables
+    StringBuilder sb = new StringBuilder();
+    
+    // Nothing to write
+    if (batch.isEmpty()) return;
+    
+    // Open journal on first record. A new journal starts with the current generation
+    if (out == null) {
+      boolean created = !new File(file).exists();
+      out = new FileOutputStream(file, true);
+      if (created) out.write((manifest.getGeneration() + "\n").getBytes());
+    }
+    
+    // Write records and flush them to disk
+    for (String record : batch) {
+      sb.append(record).append('\n');
+    }
+    out.write(sb.toString().getBytes());
+    out.getFD().sync();
+  }
+
+  /*
+  This method replays the journal over the classrooms loaded from the last checkpoint. Replaying a record twice has no further effect, and a partially written last record is ignored.
+  @name replay
+  @date 1/24/2024
+  @parameters StaffDatabase
+  @returns void
+  */
+  public void replay(StaffDatabase sd) {
+    // Variables
+    ArrayList<String> lines = new ArrayList<String>();
+    String content;
+    int start = 0, end;
+    long started = -1;
+
+    // If there is no journal, nothing to replay
+    if (!new File(file).exists()) return;
+
+    // Handle IO errors
+    try {
+      content = new String(Files.readAllBytes(new File(file).toPath()));
+    }
+    catch (IOException e) {
+      e.printStackTrace();
+      return;
+    }
+
+    // Split into complete records. A record without a line break was cut off by a crash
+    while ((end = content.indexOf('\n', start)) != -1) {
+      lines.add(content.substring(start, end));
+      start = end + 1;
+    }
+    
+    // Get the generation the journal was started in. Journals without one predate the manifest
+    if (!lines.isEmpty() && lines.get(0).matches("-?[0-9]+")) {
+      started = Long.parseLong(lines.remove(0));
+    }
+    
+    // If classrooms.txt was written after the journal was started, the journal is already included
+    if (manifest.getGeneration(checkpointFile) > started) {
+      new File(file).delete();
+      return;
+    }
+
+    // Apply each record
+    for (String line : lines) {
+      // Stop at the first damaged record
+      if (!apply(line, sd)) {
+        new Keyboard().print("Journal record could not be replayed: " + line);
+        break;
+      }
+      records++;
+    }
+  }
+
+  /*
+  This method applies a single record to the classrooms
+  @name apply
+  @date 1/24/2024
+  @parameters String, StaffDatabase
+  @returns boolean
+  */
+  private boolean apply(String line, StaffDatabase sd) {
+    // Variables
+    String[] parts = line.split(" ", 4);
+    Classroom c;
+    Student s;
+    Assignment a;
+    Admin admin;
+
+    // Handle malformed records
+    try {
+      c = sd.getClassroomDatabase().searchID(Integer.parseInt(parts[1]));
+
+      // Classroom was deleted after the record was written
+      if (c == null) return true;
+
+      // If grade was set
+      if (parts[0].equals(GRADE_SET)) {
+        String[] ids = parts[3].split(" ");
+        s = c.searchID(Long.parseLong(parts[2]));
+        a = s == null ? null : s.searchID(Integer.parseInt(ids[0]));
+        if (a != null) a.grade(Double.parseDouble(ids[1]));
+      }
+      // If student was enrolled
+      else if (parts[0].equals(STUDENT_ENROLLED)) {
+        s = sd.getStudentDatabase().searchID(Long.parseLong(parts[2]));
+        if (s != null && c.searchID(s.getID()) == null) c.addStudent(s);
+      }
+      // If assignment was created
+      else if (parts[0].equals(ASSIGNMENT_CREATED)) {
+        c.createAssignment(parts[3], Integer.parseInt(parts[2]));
+      }
+      // If assignment was removed
+      else if (parts[0].equals(ASSIGNMENT_REMOVED)) {
+        c.removeAssignment(Integer.parseInt(parts[2]));
+      }
+      // If admin was added
+      else if (parts[0].equals(ADMIN_ADDED)) {
+        admin = sd.searchID(Long.parseLong(parts[2]));
+        if (admin != null && !c.getAdmins().contains(admin)) c.addAdmin(admin);
+      }
+      // Unknown record type
+      else {
+        return false;
+      }
+    }
+    // Catch malformed record
+    catch (RuntimeException e) {
+      return false;
+    }
+
+    // Record applied
+    return true;
+  }
+
+  /*
+  This method checks if classrooms.txt should be rewritten and the journal cleared
+  @name needsCheckpoint
+  @date 1/24/2024
+  @parameters void
+  @returns boolean
+  */
+  public boolean needsCheckpoint() {
+    return records > 0 && (checkpointRequested || records >= CHECKPOINT_INTERVAL);
+  }
+
+  /*
+  This method requests a checkpoint at the next persist, for example when the program exits
+  @name requestCheckpoint
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  public void requestCheckpoint() {
+    checkpointRequested = true;
+  }
+
+  /*
+  This method clears the journal. It must only be called once classrooms.txt holds every journaled change.
+  @name reset
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  public void reset() {
+    truncate();
+    checkpointed();
+  }
+
+  /*
+  This method closes and deletes the journal file
+  @name truncate
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  public void truncate() {
+    // Handle IO errors
+    try {
+      // Close the open journal
+      if (out != null) out.close();
+      out = null;
+
+      // Delete journal file
+      new File(file).delete();
+    }
+    catch (IOException e) {
+      e.printStackTrace();
+    }
+  }
+
+  /*
+  This method resets the counters once classrooms.txt was captured with every journaled change
+  @name checkpointed
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  public void checkpointed() {
+    records = 0;
+    checkpointRequested = false;
+  }
+
+  /*
+  This method hands further records to a persister instead of writing them directly
+  @name setPersister
+  @date 1/24/2024
+  @parameters Persister
+  @returns void
+  */
+  public void setPersister(Persister persister) {
+    this.persister = persister;
+  }
+
+  /*
+  This method returns the number of records since the last checkpoint
+  @name size
+  @date 1/24/2024
+  @parameters void
+  @returns int
+  */
+  public int size() {
+    return records;
+  }
+
+  /*
+  This method returns the file the journal is checkpointed into
+  @name getCheckpointFile
+  @date 1/24/2024
+  @parameters void
+  @returns String
+  */
+  public String getCheckpointFile() {
+    return checkpointFile;
+  }
+
+  /*
+  This method returns the journal file
+  @name getFile
+  @date 1/24/2024
+  @parameters void
+  @returns String
+  */
+  public String getFile() {
+    return file;
+  }
+}
\ No newline at end of file
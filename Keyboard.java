@@ -14,14 +14,24 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 
 // Keyboard class
 public class Keyboard {
 
   // Instance variables
   Scanner keyboard;
-  HashMap<String, ArrayList<String>> keyMap;
+  HashMap<String, Supplier<List<String>>> keyMap;
+  HashMap<String, Command> commands;
+
+  // Number of options on a page of a long menu. Menus are not split into pages if it is 0
+  public static final int PAGE_SIZE = Integer.getInteger("markbook.pagesize", 20);
    
   // Constructor to initialize scanner object
   public Keyboard() {
@@ -189,16 +199,42 @@ public class Keyboard {
   
 
   /*
-  This method prints the menus and returns a String indicating which option was chosen
+  This method prints the median, percentiles and grade bands of a histogram
+  @name printDistribution
+  @date 1/24/2024
+  @parameters String, GradeHistogram
+  @returns void
+  */
+  public void printDistribution(String title, GradeHistogram h) {
+    // Nothing to show
+    if (h.size() == 0) {
+      print("\nGrade Distribution of " + title + ": No grades have been added");
+      return;
+    }
+
+    // Percentiles
+    print("\nGrade Distribution of " + title + " (" + h.size() + " grades)");
+    print("25th Percentile: " + h.quantile(0.25) + "%");
+    print("Median: " + h.quantile(0.5) + "%");
+    print("75th Percentile: " + h.quantile(0.75) + "%");
+    print("90th Percentile: " + h.quantile(0.9) + "%");
+
+    // Grade bands
+    print("80-100%: " + h.count(80, Double.POSITIVE_INFINITY));
+    print("70-79%: " + h.count(70, 80));
+    print("60-69%: " + h.count(60, 70));
+    print("50-59%: " + h.count(50, 60));
+    print("Below 50%: " + h.count(Double.NEGATIVE_INFINITY, 50));
+  }
+
+  /*
+  This method prints the menus and returns the command of the option that was chosen
   @name menu
   @date 1/22/2024
   @parameters Admin, StaffDatabase
-  @returns String
+  @returns Command
   */
-  public String menu(Admin a, StaffDatabase sd) {
-    // Variables
-    String choice;
-    
+  public Command menu(Admin a, StaffDatabase sd) {
     // Initialize the options
     initializeOptions(a, sd);
     
@@ -206,7 +242,33 @@ public class Keyboard {
     System.out.println("----------------------------");
     
     // Use recursive function to get menu choice
-    return choice = getMenuChoice("");
+    return command(getMenuChoice(""));
+  }
+
+  /*
+  This method gives an option the command it runs when it is chosen, and returns the option
+  @name leaf
+  @date 1/24/2024
+  @parameters String, Command
+  @returns String
+  */
+  private String leaf(String option, Command command) {
+    commands.put(option, command);
+    return option;
+  }
+
+  /*
+  This method gets the command of a chosen option. Options without a command only show information, so they do nothing like Return.
+  @name command
+  @date 1/24/2024
+  @parameters String
+  @returns Command
+  */
+  private Command command(String option) {
+    // Variables
+    Command command = commands.get(option);
+
+    return command == null ? new Command(Command.Action.RETURN) : command;
   }
 
   /*
@@ -219,7 +281,7 @@ public class Keyboard {
   private String getMenuChoice(String node) {
     // Variables
     int choice;
-    ArrayList<String> options;
+    List<String> options;
     Keyboard keyboard = new Keyboard();
     
     // If node is leaf node, then return node
@@ -227,8 +289,13 @@ public class Keyboard {
       return node;
     }
     
-    // Get all options available
-    options = keyMap.get(node);
+    // Build the options available. Menus below these are only added to the map now
+    options = keyMap.get(node).get();
+    
+    // Show long menus one page at a time
+    if (PAGE_SIZE > 0 && options.size() > PAGE_SIZE) {
+      return getPageChoice(options, 0);
+    }
     
     // Print all options after a prompt
     keyboard.print("\n\nMenu:");
@@ -252,35 +319,88 @@ public class Keyboard {
    
 
   /*
-  This function populates keymap with the admin's options
+  This method shows one page of a long menu and has a recursive call until a choice is chosen. Only the options on the page are read, so options made on demand are only made for the page.
+  @name getPageChoice
+  @date 1/24/2024
+  @parameters List<String>, int
+  @returns String
+  */
+  private String getPageChoice(List<String> options, int page) {
+    // Variables
+    int pages = (options.size() + PAGE_SIZE - 1) / PAGE_SIZE;
+    int end = Math.min(options.size(), (page + 1) * PAGE_SIZE);
+    int choice;
+    String input;
+    Keyboard keyboard = new Keyboard();
+    
+    // Print the options on the page after a prompt. Options keep their number in the whole menu
+    keyboard.print("\n\nMenu (page " + (page + 1) + " of " + pages + "):");
+    for (int i = page * PAGE_SIZE; i < end; i++) {
+      keyboard.print((i + 1) + ") " + options.get(i));
+    }
+    
+    // Get choice or page to go to
+    input = keyboard.getWord("\nEnter choice number (1-" + options.size() + "), n for the next page, p for the previous page or j to jump to a page: ");
+    switch (input) {
+      case "n":
+        return getPageChoice(options, Math.min(page + 1, pages - 1));
+      case "p":
+        return getPageChoice(options, Math.max(page - 1, 0));
+      case "j":
+        return getPageChoice(options, Math.max(0, Math.min(keyboard.getInt("\nEnter page number (1-" + pages + "): ") - 1, pages - 1)));
+    }
+    
+    // Read the choice number
+    try {
+      choice = Integer.parseInt(input);
+    }
+    catch (NumberFormatException e) {
+      choice = 0;
+    }
+    
+    // If choice is not valid, then try again. Otherwise, proceed to next
+    if (choice < 1 || choice > options.size()) {
+      // Print error message
+      keyboard.print("\nInvalid choice. Try again.");
+      return getPageChoice(options, page);
+    }
+    else {
+      return getMenuChoice(options.get(choice-1));
+    }
+  }
+
+  /*
+  This function populates keymap with the admin's top menus. Each menu is built when it is opened, and adds the menus of its own options then, so only the menus on the way to a choice are built.
   @name initializeOptions
   @date 1/22/2024
   @parameters Admin, StaffDatabase
   @returns void
   */
   private void initializeOptions(Admin a, StaffDatabase sd) {
-    // Initialize hashmap
-    keyMap = new HashMap<String, ArrayList<String>>();
+    // Initialize hashmaps
+    keyMap = new HashMap<String, Supplier<List<String>>>();
+    commands = new HashMap<String, Command>();
     
     // Initial
-    keyMap.put("", new ArrayList<String>() {
+    keyMap.put("", () -> new ArrayList<String>() {
       {
         add("Classrooms");
         add("Account Settings");
         add("Database");
-        add("Exit");
+        add(leaf("Exit", new Command(Command.Action.EXIT)));
       }
     }
               );
     
     // Classrooms
-    keyMap.put("Classrooms", new ArrayList<String>() {
+    keyMap.put("Classrooms", () -> new ArrayList<String>() {
       {
         add("Return");
-        add("Add Classroom");
+        add(leaf("Add Classroom", new Command(Command.Action.ADD_CLASSROOM)));
+        add(leaf("School Grade Distribution", new Command(Command.Action.SCHOOL_GRADE_DISTRIBUTION)));
         
         // Get classrooms
-        ArrayList<Classroom> classrooms = a.getClassrooms();
+        LinkedHashSet<Classroom> classrooms = a.getClassrooms();
         
         // If classrooms is not null, add each classroom
         if (classrooms != null) {
@@ -288,86 +408,76 @@ public class Keyboard {
             add(classroom.getName() + " (" + classroom.getID() + ")");
             
             // For each classroom, add menu
-            keyMap.put(classroom.getName() + " (" + classroom.getID() + ")", new ArrayList<String>() {
+            keyMap.put(classroom.getName() + " (" + classroom.getID() + ")", () -> new ArrayList<String>() {
               {
                 add("Return");
                 add("Assignments (" + classroom.getID() + ")");
                 add("Students (" + classroom.getID() + ")");
                 add("Admins (" + classroom.getID() + ")");
-                add("Delete Classroom (" + classroom.getID() + ")");
+                add("Ungraded Work (" + classroom.getID() + ")");
+                add(leaf("Grade Distribution (" + classroom.getID() + ")", new Command(Command.Action.CLASSROOM_GRADE_DISTRIBUTION, classroom.getID(), 0, 0)));
+                add(leaf("Class Rank (" + classroom.getID() + ")", new Command(Command.Action.CLASS_RANK, classroom.getID(), 0, 0)));
+                add(leaf("Delete Classroom (" + classroom.getID() + ")", new Command(Command.Action.DELETE_CLASSROOM, classroom.getID(), 0, 0)));
               }
             }
                       );
-            
-            // For each classroom, add Assignments menu
-            keyMap.put("Assignments (" + classroom.getID() + ")", new ArrayList<String>() {
+
+            // For each classroom, add menu of every ungraded assignment
+            keyMap.put("Ungraded Work (" + classroom.getID() + ")", () -> new ArrayList<String>() {
               {
                 add("Return");
-                add("Create Assignment (" + classroom.getID() + ")");
-                
-                // Add each assignment
-                for (Assignment assignment : classroom.getAssignmentDatabase().getAssignments()) {
-                  add(assignment.getName() + " (" + classroom.getID() + ") (" + assignment.getID() + ")");
-                  
-                  // For each assignment, add menu to change grade
-                  keyMap.put(assignment.getName() + " (" + classroom.getID() + ") (" + assignment.getID() + ")", new ArrayList<String>() {
-                    {
-                      add("Return");
-                      add("Delete Assignment (" + classroom.getID() + ") (" + assignment.getID() + ")");
-                      add("Average Grade (" + classroom.getID() + ") (" + assignment.getID() + ")");
-                      
-                      // Add option to change grade for each student
-                      for (Student s : classroom.getStudents()) {
-                        add("Change Assignment Grade: " + s.getFirstName() + " " + s.getLastName() + ": " + (s.searchID(assignment.getID()).getGrade() != -1 ? s.searchID(assignment.getID()).getGrade() : "Ungraded") + " (" + classroom.getID() + ") (" + assignment.getID() + ") (" + s.getID() + ")");
-                      }
-                    }
+
+                // Add option to grade each ungraded student for each assignment that still needs marking
+                for (Map.Entry<Assignment, IdList<Student>> work : classroom.getUngradedWork().entrySet()) {
+                  for (Student s : work.getValue()) {
+                    add(leaf("Change Assignment Grade: " + work.getKey().getName() + ": " + s.getFirstName() + " " + s.getLastName() + ": Ungraded (" + classroom.getID() + ") (" + work.getKey().getID() + ") (" + s.getID() + ")", new Command(Command.Action.CHANGE_ASSIGNMENT_GRADE, classroom.getID(), work.getKey().getID(), s.getID())));
                   }
-                            );
                 }
               }
             }
                       );
             
-            
-            // For each classroom, add Students menu
-            keyMap.put("Students (" + classroom.getID() + ")", new ArrayList<String>() {
+            // For each classroom, add Assignments menu
+            keyMap.put("Assignments (" + classroom.getID() + ")", () -> new ArrayList<String>() {
               {
                 add("Return");
-                add("Add Student (" + classroom.getID() + ")");
+                add(leaf("Create Assignment (" + classroom.getID() + ")", new Command(Command.Action.CREATE_ASSIGNMENT, classroom.getID(), 0, 0)));
                 
-                // Add each student
-                for (Student s : classroom.getStudents()) {
-                  add("Classroom Student " + s.getFirstName() + " " + s.getLastName() + " (" + classroom.getID() + ") (" + s.getID() + ")");
+                // Add each assignment
+                for (Assignment assignment : classroom.getAssignmentDatabase().getAssignments()) {
+                  add(assignment.getName() + " (" + classroom.getID() + ") (" + assignment.getID() + ")");
                   
-                  keyMap.put("Classroom Student " + s.getFirstName() + " " + s.getLastName() + " (" + classroom.getID() + ") (" + s.getID() + ")", new ArrayList<String>() {
-                      {
-                        add("Return");
-                        add("Delete Student from Classroom (" + classroom.getID() + ") (" + s.getID() + ")");
-                        add("View Assignments (" + classroom.getID() + ") (" + s.getID() + ")");
-                        add("View Course Grade (" + classroom.getID() + ") (" + s.getID() + ")");
-                      }
-                  }
+                  // For each assignment, add menu to change grade. The option of a student is only made when it is shown
+                  keyMap.put(assignment.getName() + " (" + classroom.getID() + ") (" + assignment.getID() + ")", () -> new MenuList(Arrays.asList(
+                    "Return",
+                    leaf("Delete Assignment (" + classroom.getID() + ") (" + assignment.getID() + ")", new Command(Command.Action.DELETE_ASSIGNMENT, classroom.getID(), assignment.getID(), 0)),
+                    leaf("Average Grade (" + classroom.getID() + ") (" + assignment.getID() + ")", new Command(Command.Action.AVERAGE_GRADE, classroom.getID(), assignment.getID(), 0)),
+                    "Ungraded Work (" + classroom.getID() + ") (" + assignment.getID() + ")",
+                    leaf("Grade Distribution (" + classroom.getID() + ") (" + assignment.getID() + ")", new Command(Command.Action.ASSIGNMENT_GRADE_DISTRIBUTION, classroom.getID(), assignment.getID(), 0))),
+                    classroom.getStudents().size(), i -> gradeOption(classroom, assignment, classroom.getStudents().get(i)))
                             );
-                  
-                  keyMap.put("View Assignments (" + classroom.getID() + ") (" + s.getID() + ")", new ArrayList<String>() {
-                    {
-                      add("Return");
-                      
-                      // Show each assignment
-                      for (Assignment assignment : s.getAssignments()) {
-                        if (classroom.getAssignmentDatabase().searchID(assignment.getID()) == null) continue;
-                        add("Change Assignment Grade: " + assignment.getName() + ": " + (assignment.getGrade() != -1 ? assignment.getGrade() : "Ungraded") + " (" + classroom.getID() + ") (" + assignment.getID() + ") (" + s.getID() + ")");
-                      }
-                    }
+
+                  // For each assignment, add menu of the students who are ungraded
+                  keyMap.put("Ungraded Work (" + classroom.getID() + ") (" + assignment.getID() + ")", () -> {
+                    // Variables
+                    IdList<Student> ungraded = classroom.getUngraded(assignment.getID());
+
+                    return new MenuList(Arrays.asList("Return"), ungraded.size(), i -> gradeOption(classroom, assignment, ungraded.get(i)));
                   }
                             );
                 }
               }
             }
                       );
+            
+            
+            // For each classroom, add Students menu. The option of a student is only made when it is shown
+            keyMap.put("Students (" + classroom.getID() + ")", () -> new MenuList(Arrays.asList("Return", "Add Student (" + classroom.getID() + ")"),
+                                                                   classroom.getStudents().size(), i -> addClassroomStudentOptions(classroom, classroom.getStudents().get(i)))
+                      );
 
             // For each classroom, add admins menu
-            keyMap.put("Admins (" + classroom.getID() + ")", new ArrayList<String>() {
+            keyMap.put("Admins (" + classroom.getID() + ")", () -> new ArrayList<String>() {
               {
                 add("Return");
                 add("Add Admin to Classroom");
@@ -382,37 +492,40 @@ public class Keyboard {
                       );
 
             // Add admin to classroom
-            keyMap.put("Add Admin to Classroom", new ArrayList<String>() {
-              {
-                add("Return");
+            keyMap.put("Add Admin to Classroom", () -> {
+              // Variables
+              IdList<Admin> admins = sd.getAdmins();
+              long[] taken = new long[classroom.getAdmins().size()];
+              int n = 0;
 
-                // Add each admin
-                for (Admin admin : sd.getAdmins()) {
-                  // Add admin if not already in classroom
-                  if (classroom.getAdmins().contains(admin)) continue;
-
-                  add("Add Admin to Classroom: " + admin.getFirstName() + " " + admin.getLastName() + " (" + classroom.getID() + ") (" + admin.getID() + ")");
-                }
+              // Sort the ids of the admins already in the classroom
+              for (Admin admin : classroom.getAdmins()) {
+                taken[n++] = admin.getID();
               }
+              Arrays.sort(taken);
+
+              // Add option for each admin not already in classroom, skipping the ones in it by their ids
+              return new MenuList(Arrays.asList("Return"), admins.size() - taken.length, i -> {
+                Admin admin = admins.get(indexOfFree(admins, Admin::getID, id -> {
+                  int t = Arrays.binarySearch(taken, id);
+                  return t < 0 ? -t - 1 : t + 1;
+                }, i));
+                return leaf("Add Admin to Classroom: " + admin.getFirstName() + " " + admin.getLastName() + " (" + classroom.getID() + ") (" + admin.getID() + ")", new Command(Command.Action.ADD_ADMIN_TO_CLASSROOM, classroom.getID(), 0, admin.getID()));
+              });
             }
                        );
             
             
             // Add student to classroom
-            keyMap.put("Add Student (" + classroom.getID() + ")", new ArrayList<String>() {
-              {
-                add("Return");
-                
-                // Add each student
-                for (Student s : sd.getStudentDatabase().getStudents()) {
-
-                  // If classroom already contains the student, do not add
-                  if (classroom.getStudents().contains(s)) continue;
+            keyMap.put("Add Student (" + classroom.getID() + ")", () -> {
+              // Variables
+              IdList<Student> students = sd.getStudentDatabase().getStudents();
 
-                  // Add student option  
-                  add("Add Student to Classroom (" + s.getFirstName() + " " + s.getLastName() + ") (" + classroom.getID() + ") (" + s.getID() + ")");
-                }
-              }
+              // Add option for each student not already in the classroom. The classroom's students up to an id are counted by rank
+              return new MenuList(Arrays.asList("Return"), students.size() - classroom.getStudents().size(), i -> {
+                Student s = students.get(indexOfFree(students, Student::getID, id -> classroom.getStudents().rank(id + 1), i));
+                return leaf("Add Student to Classroom (" + s.getFirstName() + " " + s.getLastName() + ") (" + classroom.getID() + ") (" + s.getID() + ")", new Command(Command.Action.ADD_STUDENT_TO_CLASSROOM, classroom.getID(), 0, s.getID()));
+              });
             }
                       );
           }
@@ -422,61 +535,43 @@ public class Keyboard {
               );
     
     // Account Settings
-    keyMap.put("Account Settings", new ArrayList<String>() {
+    keyMap.put("Account Settings", () -> new ArrayList<String>() {
       {
         add("Return");
-        add("Edit Admin First Name (" + a.getFirstName() + ")");
-        add("Edit Admin Last Name (" + a.getLastName() + ")");
-        add("Edit Admin Username (" + a.getUsername() + ")");
-        add("Edit Admin Password");
+        add(leaf("Edit Admin First Name (" + a.getFirstName() + ")", new Command(Command.Action.EDIT_ADMIN_FIRST_NAME)));
+        add(leaf("Edit Admin Last Name (" + a.getLastName() + ")", new Command(Command.Action.EDIT_ADMIN_LAST_NAME)));
+        add(leaf("Edit Admin Username (" + a.getUsername() + ")", new Command(Command.Action.EDIT_ADMIN_USERNAME)));
+        add(leaf("Edit Admin Password", new Command(Command.Action.EDIT_ADMIN_PASSWORD)));
       }
     }
               );
     
     // Database
-    keyMap.put("Database", new ArrayList<String>() {
+    keyMap.put("Database", () -> new ArrayList<String>() {
       {
         add("Return");
         add("Admins");
         add("Students");
-        add("Purge");
+        add(leaf("Purge", new Command(Command.Action.PURGE)));
       }
     }
               );
     
-    // Students
-    keyMap.put("Students", new ArrayList<String>() {
-      {
-        add("Return");
-        add("Add Student to Database");
-        
-        // Get students
-        for (Student s : sd.getStudentDatabase().getStudents()) {
-          add("Student: " + s.getFirstName() + " " + s.getLastName() + " (" + s.getID() + ")");
-          
-          // For each student, add menu to delete student or edit username/password
-          keyMap.put("Student: " + s.getFirstName() + " " + s.getLastName() + " (" + s.getID() + ")", new ArrayList<String>() {
-            {
-              add("Return");
-              add("Edit Student First Name (" + s.getFirstName() + ") (" + s.getID() + ")");
-              add("Edit Student Last Name (" + s.getLastName() + ") (" + s.getID() + ")");
-              add("Edit Student Username (" + s.getUsername() + ") (" + s.getID() + ")");
-              add("Edit Student Password (" + s.getID() + ")");
-              add("Delete Student from Database (" + s.getID() + ")");
-            }
-          }
-                    );
-        }
-      }
-    }
+    // Students. The option of a student is only made when it is shown
+    keyMap.put("Students", () -> new MenuList(Arrays.asList(
+      "Return",
+      leaf("Add Student to Database", new Command(Command.Action.ADD_STUDENT_TO_DATABASE)),
+      leaf("Find Student", new Command(Command.Action.FIND_STUDENT))),
+      sd.getStudentDatabase().getStudents().size(), i -> addStudentOptions(sd.getStudentDatabase().getStudents().get(i)))
               );
     
     
     // Database >> Admins
-    keyMap.put("Admins", new ArrayList<String>() {
+    keyMap.put("Admins", () -> new ArrayList<String>() {
       {
         add("Return");
-        add("Add Admin");
+        add(leaf("Add Admin", new Command(Command.Action.ADD_ADMIN)));
+        add(leaf("Find Admin", new Command(Command.Action.FIND_ADMIN)));
         
         // Get admins
         for (Admin admin : sd.getAdmins()) {
@@ -484,20 +579,172 @@ public class Keyboard {
           if (admin == a) continue;
           
           // Add each admin
-          add(admin.getUsername() + " (" + admin.getID() + ")");
-          
-          // For each admin, give option to delete
-          keyMap.put(admin.getUsername() + " (" + admin.getID() + ")", new ArrayList<String>() {
-            {
-              add("Return");
-              add("Delete Admin (" + admin.getID() + ")");
-            }
-          }
-                    );
+          add(addAdminOptions(admin));
+        }
+      }
+    }
+              );
+  }
+
+  /*
+  This method adds the menus of a student in a classroom and returns the option that opens them
+  @name addClassroomStudentOptions
+  @date 1/24/2024
+  @parameters Classroom, Student
+  @returns String
+  */
+  private String addClassroomStudentOptions(Classroom classroom, Student s) {
+    // Variables
+    String option = "Classroom Student " + s.getFirstName() + " " + s.getLastName() + " (" + classroom.getID() + ") (" + s.getID() + ")";
+    
+    // Menu of the student
+    keyMap.put(option, () -> new ArrayList<String>() {
+      {
+        add("Return");
+        add(leaf("Delete Student from Classroom (" + classroom.getID() + ") (" + s.getID() + ")", new Command(Command.Action.DELETE_STUDENT_FROM_CLASSROOM, classroom.getID(), 0, s.getID())));
+        add("View Assignments (" + classroom.getID() + ") (" + s.getID() + ")");
+        add(leaf("View Course Grade (" + classroom.getID() + ") (" + s.getID() + ")", new Command(Command.Action.VIEW_COURSE_GRADE, classroom.getID(), 0, s.getID())));
+      }
+    }
+              );
+
+    // Menu of the student's grades
+    keyMap.put("View Assignments (" + classroom.getID() + ") (" + s.getID() + ")", () -> new ArrayList<String>() {
+      {
+        add("Return");
+
+        // Show each assignment
+        for (Assignment assignment : classroom.getAssignmentDatabase().getAssignments()) {
+          double grade = classroom.getGrade(s.getID(), assignment.getID());
+          add(leaf("Change Assignment Grade: " + assignment.getName() + ": " + (grade != -1 ? grade : "Ungraded") + " (" + classroom.getID() + ") (" + assignment.getID() + ") (" + s.getID() + ")", new Command(Command.Action.CHANGE_ASSIGNMENT_GRADE, classroom.getID(), assignment.getID(), s.getID())));
         }
       }
     }
               );
+    return option;
+  }
+
+  /*
+  This method makes the option to change a student's grade for an assignment
+  @name gradeOption
+  @date 1/24/2024
+  @parameters Classroom, Assignment, Student
+  @returns String
+  */
+  private String gradeOption(Classroom classroom, Assignment assignment, Student s) {
+    // Variables
+    double grade = classroom.getGrade(s.getID(), assignment.getID());
+    
+    return leaf("Change Assignment Grade: " + s.getFirstName() + " " + s.getLastName() + ": " + (grade != -1 ? grade : "Ungraded") + " (" + classroom.getID() + ") (" + assignment.getID() + ") (" + s.getID() + ")", new Command(Command.Action.CHANGE_ASSIGNMENT_GRADE, classroom.getID(), assignment.getID(), s.getID()));
+  }
+
+  /*
+  This method finds the index in a list ordered by id of an element that is not taken, counting only elements that are not taken. Taken elements must be in the list, and are counted by the number taken with an id up to and including each id.
+  @name indexOfFree
+  @date 1/24/2024
+  @parameters IdList<T>, ToLongFunction<T>, LongUnaryOperator, int
+  @returns int
+  */
+  private static <T> int indexOfFree(IdList<T> list, ToLongFunction<T> id, LongUnaryOperator taken, int index) {
+    // Variables
+    int low = index;
+    int high = list.size() - 1;
+    int mid;
+
+    // Find the first element with index + 1 free elements up to it
+    while (low < high) {
+      mid = (low + high) >>> 1;
+      if (mid + 1 - taken.applyAsLong(id.applyAsLong(list.get(mid))) < index + 1) low = mid + 1;
+      else high = mid;
+    }
+    return low;
+  }
+
+  /*
+  This method adds the menu of a student in the database and returns the option that opens it
+  @name addStudentOptions
+  @date 1/24/2024
+  @parameters Student
+  @returns String
+  */
+  private String addStudentOptions(Student s) {
+    // Variables
+    String option = "Student: " + s.getFirstName() + " " + s.getLastName() + " (" + s.getID() + ")";
+    
+    // For each student, add menu to delete student or edit username/password
+    keyMap.put(option, () -> new ArrayList<String>() {
+      {
+        add("Return");
+        add(leaf("Edit Student First Name (" + s.getFirstName() + ") (" + s.getID() + ")", new Command(Command.Action.EDIT_STUDENT_FIRST_NAME, 0, 0, s.getID())));
+        add(leaf("Edit Student Last Name (" + s.getLastName() + ") (" + s.getID() + ")", new Command(Command.Action.EDIT_STUDENT_LAST_NAME, 0, 0, s.getID())));
+        add(leaf("Edit Student Username (" + s.getUsername() + ") (" + s.getID() + ")", new Command(Command.Action.EDIT_STUDENT_USERNAME, 0, 0, s.getID())));
+        add(leaf("Edit Student Password (" + s.getID() + ")", new Command(Command.Action.EDIT_STUDENT_PASSWORD, 0, 0, s.getID())));
+        add(leaf("Delete Student from Database (" + s.getID() + ")", new Command(Command.Action.DELETE_STUDENT_FROM_DATABASE, 0, 0, s.getID())));
+      }
+    }
+              );
+    return option;
+  }
+
+  /*
+  This method adds the menu of an admin in the database and returns the option that opens it
+  @name addAdminOptions
+  @date 1/24/2024
+  @parameters Admin
+  @returns String
+  */
+  private String addAdminOptions(Admin admin) {
+    // Variables
+    String option = admin.getUsername() + " (" + admin.getID() + ")";
+    
+    // For each admin, give option to delete
+    keyMap.put(option, () -> new ArrayList<String>() {
+      {
+        add("Return");
+        add(leaf("Delete Admin (" + admin.getID() + ")", new Command(Command.Action.DELETE_ADMIN, 0, 0, admin.getID())));
+      }
+    }
+              );
+    return option;
+  }
+
+  /*
+  This method prompts for the start of a name and shows a menu of the students or admins it matches. The matches are looked up in the database's name index, not listed one by one.
+  @name find
+  @date 1/24/2024
+  @parameters Command, Admin, StaffDatabase
+  @returns Command
+  */
+  public Command find(Command command, Admin a, StaffDatabase sd) {
+    // Variables
+    String prefix = getWord("\nEnter the start of a first name, last name or username: ");
+    String choice = command.getAction() == Command.Action.FIND_STUDENT ? "Find Student" : "Find Admin";
+    ArrayList<String> options = new ArrayList<String>();
+    
+    // Menu of matches
+    keyMap = new HashMap<String, Supplier<List<String>>>();
+    commands = new HashMap<String, Command>();
+    keyMap.put(choice, () -> options);
+    options.add("Return");
+    
+    // Add each matching student
+    if (command.getAction() == Command.Action.FIND_STUDENT) {
+      for (Student s : sd.getStudentDatabase().findStudents(prefix)) {
+        options.add(addStudentOptions(s));
+      }
+    }
+    // Add each matching admin except the current admin
+    else {
+      for (Admin admin : sd.findAdmins(prefix)) {
+        if (admin != a) options.add(addAdminOptions(admin));
+      }
+    }
+    
+    // Report number of matches
+    print("\n" + (options.size() - 1) + " match(es) for " + prefix);
+    
+    // Get menu choice
+    return command(getMenuChoice(choice));
   }
 
   /*
@@ -544,7 +791,21 @@ public class Keyboard {
   }
   
   /*
-  This method reads the information in the file and populates the database
+  This method opens a classroom file for reading. The file is memory-mapped unless -Dmarkbook.loader=buffered is set.
+  @name openLineReader
+  @date 1/24/2024
+  @parameters String
+  @returns LineReader
+  */
+  private LineReader openLineReader(String file) throws IOException {
+    if ("buffered".equals(System.getProperty("markbook.loader"))) {
+      return new BufferedLineReader(file);
+    }
+    return new MappedLineReader(file);
+  }
+
+  /*
+  This method reads the information in the file and populates the database.
   @name getClassroomInfo
   @date 1/16/2024
   @parameters String, StaffDatabase
@@ -553,62 +814,22 @@ public class Keyboard {
   public void getClassroomInfo(String file, StaffDatabase sd) {
   
     // Variables
-    BufferedReader br = null;
-    String word;
-    Classroom c;
-    Student s;
-    Assignment a;
-    StudentDatabase studentDatabase = sd.getStudentDatabase();
-    ClassroomDatabase cd = sd.getClassroomDatabase();
-    int nCourses, nAdmins, nStudents, nAssignments;
+    LineReader lr = null;
     
     // Handle errors
     try {
-      // Open file
-      br = new BufferedReader(new FileReader(file));
-      
-      nCourses = Integer.parseInt(br.readLine());
-      // Go through all courses
-      for (int i = 0; i < nCourses; i++) {
-        // Get name and id
-        c = new Classroom(br.readLine(), Integer.parseInt(br.readLine()));
-        
-        // Get number of admins
-        nAdmins = Integer.parseInt(br.readLine());
-        // Go through all admins
-        for (int j = 0; j < nAdmins; j++) {
-        c.addAdmin(sd.searchID(Long.parseLong(br.readLine())));
-        }
-        
-        // Get number of students
-        nStudents = Integer.parseInt(br.readLine());
-        // Go through all students
-        for (int j = 0; j < nStudents; j++) {
-          s = studentDatabase.searchID(Long.parseLong(br.readLine()));
-          
-          // Get number of assignments
-          nAssignments = Integer.parseInt(br.readLine());
-          // Go through all assignments
-          for (int k = 0; k < nAssignments; k++) {
-            a = new Assignment(br.readLine(), Integer.parseInt(br.readLine()));
-            a.grade(Double.parseDouble(br.readLine()));
-            s.addAssignment(a);
-          }
-          // Add student to classroom
-          c.addStudent(s);
-        }
-        // Add classroom to classroom database
-        cd.add(c);
-      }
+      // Open file and read classrooms
+      lr = openLineReader(file);
+      getClassroomInfo(lr, sd);
     }
     catch (IOException e) {
       e.printStackTrace();
     }
     // After try catch
     finally {
-      // Try to close BufferReader
+      // Try to close LineReader
       try {
-        br.close();
+        if (lr != null) lr.close();
       }
       catch (IOException ex) {
         ex.printStackTrace();
@@ -616,116 +837,289 @@ public class Keyboard {
     }
   }
 
+  /*
+  This method reads the classrooms from a line reader and populates the database
+  @name getClassroomInfo
+  @date 1/24/2024
+  @parameters LineReader, StaffDatabase
+  @returns void
+  */
+  public void getClassroomInfo(LineReader lr, StaffDatabase sd) throws IOException {
+    // Variables
+    int nCourses = lr.nextInt();
+    
+    // Go through all courses, linking each to its admins and students and adding it to the classroom database
+    for (int i = 0; i < nCourses; i++) {
+      sd.getClassroomDatabase().add(ClassroomRecord.read(lr).link(sd));
+    }
+  }
+
+  /*
+  This method reads the classrooms from a file without linking them to admins and students. The file format is chosen by the file name.
+  @name getClassroomRecords
+  @date 1/24/2024
+  @parameters String
+  @returns ArrayList<ClassroomRecord>
+  */
+  public ArrayList<ClassroomRecord> getClassroomRecords(String file) throws IOException {
+    // Variables
+    ArrayList<ClassroomRecord> records = new ArrayList<ClassroomRecord>();
+    LineReader lr;
+    int nCourses;
+    
+    // Read binary gradebook file
+    if (GradebookFile.isBinary(file)) return GradebookFile.readRecords(file);
+    
+    // Read each course from the text file
+    lr = openLineReader(file);
+    try {
+      nCourses = lr.nextInt();
+      for (int i = 0; i < nCourses; i++) {
+        records.add(ClassroomRecord.read(lr));
+      }
+    }
+    finally {
+      lr.close();
+    }
+    
+    // Return records
+    return records;
+  }
+
   /*
   This method persists the classroom info in a file
   @name persistClassroomInfo
   @date 1/16/2024
-  @parameters String, ClassroomDatabase
+  @parameters Snapshot, String, ClassroomDatabase
   @returns void
   */
-  private void persistClassroomInfo(String file, ClassroomDatabase cd) {
+  private void persistClassroomInfo(Snapshot snapshot, String file, ClassroomDatabase cd) throws IOException {
     
-    // Variables
-    Classroom c;
-    ArrayList<Student> students;
-    ArrayList<Assignment> assignments;
-    ArrayList<Admin> admins;
+    // Write binary gradebook file
+    if (GradebookFile.isBinary(file)) {
+      GradebookFile.write(snapshot, file, cd);
+      return;
+    }
     
-    // Erase file
-    eraseFile(file);
+    // Open file once for the whole snapshot
+    SnapshotWriter sw = snapshot.open(file);
+    IdList<Assignment> assignments;
     
-    writeToFile(file, cd.getClassrooms().size()+"");
+    // Write number of courses
+    sw.writeLine(cd.getClassrooms().size()+"");
     
     // Loop through all courses
-    for (int i = 0; i < cd.getClassrooms().size(); i++) {
-      c = cd.getClassrooms().get(i);
-
+    for (Classroom c : cd.getClassrooms()) {
       // Write name and id of course
-      writeToFile(file, c.getName());
-      writeToFile(file, c.getID()+"");  
+      sw.writeLine(c.getName());
+      sw.writeLine(c.getID()+"");
 
       // Write number of admins. Then, for all admins in the classroom, write id of admin
-      admins = c.getAdmins();
-      writeToFile(file, admins.size()+"");
-      for (int j = 0; j < admins.size(); j++) {
-        writeToFile(file, admins.get(j).getID()+"");
+      sw.writeLine(c.getAdmins().size()+"");
+      for (Admin a : c.getAdmins()) {
+        sw.writeLine(a.getID()+"");
       }
     
       // Write number of students. Then, for all students, write id of students and assignment info
-      students = c.getStudents();
-      writeToFile(file, students.size()+"");
-      for (int j = 0; j < students.size(); j++) {
-        writeToFile(file, students.get(j).getID()+"");
+      sw.writeLine(c.getStudents().size()+"");
+      for (Student s : c.getStudents()) {
+        sw.writeLine(s.getID()+"");
 
         // Write number of assignments. Then, for all assignments, write name, id, and grade
-        assignments = students.get(j).getAssignments();
-        writeToFile(file, assignments.size()+"");
-        for (int k = 0; k < assignments.size(); k++) {
-          writeToFile(file, assignments.get(k).getName()+"");
-          writeToFile(file, assignments.get(k).getID()+"");
-          writeToFile(file, assignments.get(k).getGrade()+"");
+        assignments = s.getAssignments();
+        sw.writeLine(assignments.size()+"");
+        for (Assignment a : assignments) {
+          sw.writeLine(a.getName());
+          sw.writeLine(a.getID()+"");
+          sw.writeLine(a.getGrade()+"");
         }
       }
     }
+    
+    // Flush the file
+    sw.close();
   }
 
   /*
   This method persists the admin info in a file
   @name persistAdminInfo
   @date 1/15/2024
-  @parameters String, StaffDatabase
+  @parameters Snapshot, String, StaffDatabase
   @returns void
   */
-  private void persistAdminInfo(String file, StaffDatabase sd) {
+  private void persistAdminInfo(Snapshot snapshot, String file, StaffDatabase sd) throws IOException {
   
-    // Erase content in file
-    eraseFile(file);
+    // Open file once for the whole snapshot
+    SnapshotWriter sw = snapshot.open(file);
     
     // Iterate over all admins
     for (Admin a : sd.getAdmins()) {
       // Write information in file
-      writeToFile(file, a.getFirstName());
-      writeToFile(file, a.getLastName());
-      writeToFile(file, a.getUsername());
-      writeToFile(file, a.getEncryptedPassword());
-      writeToFile(file, a.getID()+"");
+      sw.writeLine(a.getFirstName());
+      sw.writeLine(a.getLastName());
+      sw.writeLine(a.getUsername());
+      sw.writeLine(a.getEncryptedPassword());
+      sw.writeLine(a.getID()+"");
     }
+    
+    // Flush the file
+    sw.close();
   }
 
   /*
   This method persists the assignment info of a class in a file
-  @parameters String, AssignmentDatabase
+  @parameters Snapshot, String, AssignmentDatabase
   @returns void
   */
-  private void persistAssignmentsInfo(String file, AssignmentDatabase ad) {
-    // Erase content in file
-    eraseFile(file);
+  private void persistAssignmentsInfo(Snapshot snapshot, String file, AssignmentDatabase ad) throws IOException {
+    // Open file once for the whole snapshot
+    SnapshotWriter sw = snapshot.open(file);
     
     // Write number of assignments
-    writeToFile(file, ad.getAssignments().size()+"");
+    sw.writeLine(ad.getAssignments().size()+"");
     
-    // Iterate over all admins
+    // Iterate over all assignments
     for (Assignment a : ad.getAssignments()) {
       // Write information in file
-      writeToFile(file, a.getID()+"");
-      writeToFile(file, a.getName()+"");
+      sw.writeLine(a.getID()+"");
+      sw.writeLine(a.getName());
     }
+    
+    // Flush the file
+    sw.close();
   }
 
   /*
-  This method persists all information in the respective file
+  This method persists the information that changed since the last persist in the respective file. Files with no changes are not touched. All changed files are committed together as one generation, so a crash leaves either all old files or all new files.
   @name persistInfo
   @date 1/17/2024
   @parameters StaffDatabase
   @returns void
   */
   public void persistInfo(StaffDatabase sd) {
-    persistAdminInfo(sd.getFile(), sd);
-    persistClassroomInfo(sd.getClassroomDatabase().getFile(), sd.getClassroomDatabase());
-    persistStudentsInfo(sd.getStudentDatabase().getFile(), sd.getStudentDatabase());
+    // Variables
+    Snapshot snapshot = new Snapshot(sd.getManifest());
+    
+    // Handle errors
+    try {
+      // Write changed files and commit them as one generation
+      writeInfo(snapshot, sd);
+      snapshot.commit();
+    }
+    catch (IOException e) {
+      e.printStackTrace();
+      
+      // Before the commit point, keep the last committed files and leave the changes marked for the next persist
+      if (!snapshot.isCommitted()) {
+        snapshot.abort();
+        return;
+      }
+      
+      // After it, the generation stands. Files left to rename are renamed when the manifest is next recovered
+    }
+    
+    // Mark written data as persisted, and clear the journal once classrooms.txt holds its changes
+    markPersisted(snapshot, sd);
+    if (snapshot.contains(sd.getClassroomDatabase().getFile())) sd.getClassroomDatabase().getJournal().reset();
+  }
+
+  /*
+  This method captures all changed information in memory so it can be committed later by a persister. The captured data counts as persisted from then on.
+  @name captureInfo
+  @date 1/24/2024
+  @parameters StaffDatabase
+  @returns Snapshot
+  */
+  public Snapshot captureInfo(StaffDatabase sd) {
+    // Variables
+    Snapshot snapshot = new Snapshot(sd.getManifest(), true);
+    
+    // Handle errors
+    try {
+      writeInfo(snapshot, sd);
+    }
+    catch (IOException e) {
+      // Leave the changes marked for the next capture
+      e.printStackTrace();
+      return null;
+    }
+    
+    // Mark captured data as persisted. The journal file is cleared by the persister once the snapshot is committed
+    markPersisted(snapshot, sd);
+    if (snapshot.contains(sd.getClassroomDatabase().getFile())) sd.getClassroomDatabase().getJournal().checkpointed();
+    return snapshot;
+  }
+
+  /*
+  This method writes every file whose data changed into a snapshot
+  @name writeInfo
+  @date 1/24/2024
+  @parameters Snapshot, StaffDatabase
+  @returns void
+  */
+  private void writeInfo(Snapshot snapshot, StaffDatabase sd) throws IOException {
+    // Variables
+    ClassroomDatabase cd = sd.getClassroomDatabase();
+    StudentDatabase studentDatabase = sd.getStudentDatabase();
+    
+    // Rewrite admins if any admin changed
+    if (sd.isDirty()) persistAdminInfo(snapshot, sd.getFile(), sd);
+    
+    // Rewrite classrooms if a change was not journaled, or at a checkpoint of the journal
+    if (cd.isDirty() || cd.getJournal().needsCheckpoint()) persistClassroomInfo(snapshot, cd.getFile(), cd);
     
-    for (Classroom c : sd.getClassroomDatabase().getClassrooms()) {
-      persistAssignmentsInfo(c.getAssignmentDatabase().getFile(), c.getAssignmentDatabase());
+    // Rewrite students if any student changed
+    if (studentDatabase.isDirty()) persistStudentsInfo(snapshot, studentDatabase.getFile(), studentDatabase);
+    
+    // Rewrite assignments of each opened classroom whose assignments changed
+    for (Classroom c : cd.getClassrooms()) {
+      if (c.isLoaded() && c.getAssignmentDatabase().isDirty()) {
+        persistAssignmentsInfo(snapshot, c.getAssignmentDatabase().getFile(), c.getAssignmentDatabase());
+      }
+    }
+  }
+
+  /*
+  This method marks the data written in a snapshot as persisted
+  @name markPersisted
+  @date 1/24/2024
+  @parameters Snapshot, StaffDatabase
+  @returns void
+  */
+  private void markPersisted(Snapshot snapshot, StaffDatabase sd) {
+    // Variables
+    ClassroomDatabase cd = sd.getClassroomDatabase();
+    StudentDatabase studentDatabase = sd.getStudentDatabase();
+    
+    // Mark each written file
+    if (snapshot.contains(sd.getFile())) sd.markClean();
+    if (snapshot.contains(studentDatabase.getFile())) studentDatabase.markClean();
+    if (snapshot.contains(cd.getFile())) cd.markClean();
+    for (Classroom c : cd.getClassrooms()) {
+      if (c.isLoaded() && snapshot.contains(c.getAssignmentDatabase().getFile())) c.getAssignmentDatabase().markClean();
+    }
+  }
+
+
+  /*
+  This method writes the classroom info to another file. The format is chosen by the file name, so this converts between the text and binary formats.
+  @name exportClassroomInfo
+  @date 1/24/2024
+  @parameters String, StaffDatabase
+  @returns void
+  */
+  public void exportClassroomInfo(String file, StaffDatabase sd) throws IOException {
+    // Variables
+    Snapshot snapshot = new Snapshot(sd.getManifest());
+    
+    // Write and commit the file on its own
+    try {
+      persistClassroomInfo(snapshot, file, sd.getClassroomDatabase());
+      snapshot.commit();
+    }
+    catch (IOException e) {
+      snapshot.abort();
+      throw e;
     }
   }
 
@@ -733,25 +1127,28 @@ public class Keyboard {
   This method persists the students info of a class in a file
   @name persistStudentsInfo
   @date 1/17/2024
-  @parameters String, StudentDatabase
+  @parameters Snapshot, String, StudentDatabase
   @returns void
   */
-  public void persistStudentsInfo(String file, StudentDatabase sd) {
-    // Erase content in file
-    eraseFile(file);
+  public void persistStudentsInfo(Snapshot snapshot, String file, StudentDatabase sd) throws IOException {
+    // Open file once for the whole snapshot
+    SnapshotWriter sw = snapshot.open(file);
     
     // Write number of students
-    writeToFile(file, sd.getStudents().size()+"");
+    sw.writeLine(sd.getStudents().size()+"");
     
     // Iterate over all students
     for (Student s : sd.getStudents()) {
       // Write information in file
-      writeToFile(file, s.getID()+"");
-      writeToFile(file, s.getFirstName()+"");
-      writeToFile(file, s.getLastName()+"");
-      writeToFile(file, s.getUsername()+"");
-      writeToFile(file, s.getEncryptedPassword()+"");
+      sw.writeLine(s.getID()+"");
+      sw.writeLine(s.getFirstName());
+      sw.writeLine(s.getLastName());
+      sw.writeLine(s.getUsername());
+      sw.writeLine(s.getEncryptedPassword());
     }
+    
+    // Flush the file
+    sw.close();
   }
 
   /*
@@ -806,42 +1203,4 @@ public class Keyboard {
       }   
     }
   }
-
-  /*
-  This is a helper function that erases a file's contents
-  @name eraseFile
-  @date 1/15/2024
-  @parameters String
-  @returns void
-  */
-  private void eraseFile(String file) {
-    
-    // Variables
-    FileWriter fw = null;
-    PrintWriter pw = null;
-    
-    // Catch error
-    try {
-      // Clear file contents
-      fw = new FileWriter(file);
-      pw = new PrintWriter(fw);
-      pw.write("");
-      pw.flush(); 
-      pw.close();
-    }
-    catch (IOException e) {
-      e.printStackTrace();
-    }
-    // After try catch
-    finally {
-      // Try to close BufferReader
-      try {
-        fw.close();
-        pw.close();
-      }
-      catch (IOException ex) {
-        ex.printStackTrace();
-      }   
-    }
-  }
 }
\ No newline at end of file
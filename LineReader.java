@@ -0,0 +1,58 @@
+/*
+@file LineReader.java
+@author Ronak Patel
+@date 1/24/2024
+@description This interface reads the line-based persistence files one value per line. Implementations can read through a BufferedReader or straight from a memory-mapped file.
+*/
+
+// Imports
+import java.io.IOException;
+
+// LineReader interface
+interface LineReader {
+
+  /*
+  This method reads the next line as a String
+  @name nextString
+  @date 1/24/2024
+  @parameters void
+  @returns String
+  */
+  String nextString() throws IOException;
+
+  /*
+  This method reads the next line as an int
+  @name nextInt
+  @date 1/24/2024
+  @parameters void
+  @returns int
+  */
+  int nextInt() throws IOException;
+
+  /*
+  This method reads the next line as a long
+  @name nextLong
+  @date 1/24/2024
+  @parameters void
+  @returns long
+  */
+  long nextLong() throws IOException;
+
+  /*
+  This method reads the next line as a double
+  @name nextDouble
+  @date 1/24/2024
+  @parameters void
+  @returns double
+  */
+  double nextDouble() throws IOException;
+
+  /*
+  This method closes the file
+  @name close
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  void close() throws IOException;
+}
\ No newline at end of file
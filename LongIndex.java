@@ -0,0 +1,222 @@
+/*
+@file LongIndex.java
+@author Ronak Patel
+@date 1/24/2024
+@description This class maps long ids to objects with open addressing. Keys are kept in a long array and values in a parallel array, so there is no boxing and no node object per entry. Collisions are resolved by linear probing, and removal shifts the following entries back instead of leaving tombstones. Looking up an id does not allocate.
+*/
+
+// LongIndex class
+class LongIndex<T> {
+
+  // Instance variables
+  private long[] keys;
+  private Object[] values;
+  private int size;
+  private int mask;
+
+  // Smallest table and the fraction of it that can be used before it grows
+  private static final int MIN_CAPACITY = 16;
+  private static final float LOAD_FACTOR = 0.5f;
+
+  /*
+  Constructor that creates an empty index
+  @date 1/24/2024
+  @parameters void
+  */
+  public LongIndex() {
+    this(MIN_CAPACITY);
+  }
+
+  /*
+  Constructor that creates an empty index with room for a number of entries
+  @date 1/24/2024
+  @parameters int
+  */
+  public LongIndex(int expected) {
+    allocate(tableSize(expected));
+  }
+
+  /*
+  This method gets the object with an id, or null if there is none
+  @name get
+  @date 1/24/2024
+  @parameters long
+  @returns T
+  */
+  @SuppressWarnings("unchecked")
+  public T get(long key) {
+    // Probe from the home slot until the key or an empty slot is found
+    for (int i = slot(key); values[i] != null; i = (i + 1) & mask) {
+      if (keys[i] == key) return (T) values[i];
+    }
+    return null;
+  }
+
+  /*
+  This method checks if an id is in the index
+  @name containsKey
+  @date 1/24/2024
+  @parameters long
+  @returns boolean
+  */
+  public boolean containsKey(long key) {
+    return get(key) != null;
+  }
+
+  /*
+  This method maps an id to an object, replacing any object that had the id
+  @name put
+  @date 1/24/2024
+  @parameters long, T
+  @returns void
+  */
+  public void put(long key, T value) {
+    // Variables
+    int i;
+
+    // Null marks an empty slot, so it can't be stored
+    if (value == null) throw new IllegalArgumentException("Null value for id " + key);
+
+    // Probe for the key or an empty slot
+    for (i = slot(key); values[i] != null; i = (i + 1) & mask) {
+      if (keys[i] == key) {
+        values[i] = value;
+        return;
+      }
+    }
+
+    // Add new entry and grow if the table is too full
+    keys[i] = key;
+    values[i] = value;
+    if (++size > (mask + 1) * LOAD_FACTOR) rehash((mask + 1) * 2);
+  }
+
+  /*
+  This method removes an id from the index
+  @name remove
+  @date 1/24/2024
+  @parameters long
+  @returns T
+  */
+  @SuppressWarnings("unchecked")
+  public T remove(long key) {
+    // Variables
+    T value;
+    int i = slot(key);
+
+    // Find the key
+    while (values[i] != null && keys[i] != key) {
+      i = (i + 1) & mask;
+    }
+    if (values[i] == null) return null;
+    value = (T) values[i];
+
+    // Shift back each following entry whose home slot is at or before the gap
+    for (int j = (i + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+      int home = slot(keys[j]);
+      if (((j - home) & mask) >= ((j - i) & mask)) {
+        keys[i] = keys[j];
+        values[i] = values[j];
+        i = j;
+      }
+    }
+    values[i] = null;
+    size--;
+    return value;
+  }
+
+  /*
+  This method removes every entry
+  @name clear
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  public void clear() {
+    allocate(MIN_CAPACITY);
+  }
+
+  /*
+  This method gets the number of entries
+  @name size
+  @date 1/24/2024
+  @parameters void
+  @returns int
+  */
+  public int size() {
+    return size;
+  }
+
+  /*
+  This method gets the home slot of an id. The bits are mixed so ids that only differ in their high bits still spread out.
+  @name slot
+  @date 1/24/2024
+  @parameters long
+  @returns int
+  */
+  private int slot(long key) {
+    // Variables
+    long h = key * 0x9E3779B97F4A7C15L;
+
+    // Fold the high bits in
+    return (int) (h ^ (h >>> 32)) & mask;
+  }
+
+  /*
+  This method moves every entry into a table of a new size
+  @name rehash
+  @date 1/24/2024
+  @parameters int
+  @returns void
+  */
+  private void rehash(int capacity) {
+    // Variables
+    long[] oldKeys = keys;
+    Object[] oldValues = values;
+
+    // Insert each entry again
+    allocate(capacity);
+    for (int i = 0; i < oldValues.length; i++) {
+      if (oldValues[i] == null) continue;
+      int j = slot(oldKeys[i]);
+      while (values[j] != null) {
+        j = (j + 1) & mask;
+      }
+      keys[j] = oldKeys[i];
+      values[j] = oldValues[i];
+      size++;
+    }
+  }
+
+  /*
+  This method creates an empty table
+  @name allocate
+  @date 1/24/2024
+  @parameters int
+  @returns void
+  */
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    values = new Object[capacity];
+    mask = capacity - 1;
+    size = 0;
+  }
+
+  /*
+  This method gets the smallest power of two table that holds a number of entries under the load factor
+  @name tableSize
+  @date 1/24/2024
+  @parameters int
+  @returns int
+  */
+  private static int tableSize(int expected) {
+    // Variables
+    int capacity = MIN_CAPACITY;
+
+    // Double until the entries fit
+    while (capacity * LOAD_FACTOR < expected) {
+      capacity *= 2;
+    }
+    return capacity;
+  }
+}
\ No newline at end of file
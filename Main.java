@@ -13,9 +13,12 @@ class Main {
     // Variables
     Admin admin = null;
     Keyboard keyboard = new Keyboard();
-    StaffDatabase sd = new StaffDatabase("admins.txt", "classrooms.txt", "students.txt");
+    StaffDatabase sd = new StaffDatabase("admins.txt", System.getProperty("markbook.classrooms", "classrooms.txt"), "students.txt");
     ClassroomDatabase classrooms = sd.getClassroomDatabase();
-    String choice = "";
+    Command choice = new Command(Command.Action.RETURN);
+    
+    // Persist in the background if enabled
+    if (Persister.ASYNC) sd.setPersister(new Persister(sd.getClassroomDatabase().getJournal()));
     
     // Prompt until login
     while (admin == null) {
@@ -28,10 +31,10 @@ class Main {
     }
 
     // Present initial menu
-    sd.execute("Return", admin);
+    sd.execute(choice, admin);
     
     // Present menu until choice is not to exit
-    while (!choice.equals("Exit")) {
+    while (choice.getAction() != Command.Action.EXIT) {
       // Get choice and execute it
       choice = keyboard.menu(admin, sd);
       sd.execute(choice, admin);
@@ -0,0 +1,275 @@
+/*
+@file Manifest.java
+@author Ronak Patel
+@date 1/24/2024
+@description This class records which generation of snapshots was last committed and in which generation each persistence file was last written. It also keeps the next value of each id sequence, so ids are committed with the files that use them. Renaming a new manifest into place is the commit point of a generation, so a crash leaves either the whole old set of files or the whole new set.
+
+!Data persisted in markbook.manifest!
+*/
+
+// Imports
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.TreeMap;
+
+// Manifest class
+class Manifest {
+
+  // Instance variables
+  private String file;
+  private long generation;
+  private TreeMap<String, Long> files;
+  private TreeMap<String, Long> sequences;
+
+  /*
+  Constructor that reads the manifest file if it exists
+  @date 1/24/2024
+  @parameters String
+  */
+  public Manifest(String file) {
+    // Initialize instance variables
+    this.file = file;
+    files = new TreeMap<String, Long>();
+    sequences = new TreeMap<String, Long>();
+
+    // Read last committed generation
+    populate();
+  }
+
+  /*
+  This method reads the manifest file. The format is the generation, the number of files, then the name and generation of each file. After that is the number of id sequences, then the name and next value of each one. Manifests written before there were sequences end after the files.
+  @name populate
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  private void populate() {
+    // Variables
+    BufferedReader br = null;
+    String line;
+    int n;
+
+    // If there is no manifest, no generation was committed yet
+    if (!new File(file).exists()) return;
+
+    // Handle errors
+    try {
+      // Open file
+      br = new BufferedReader(new FileReader(file));
+      generation = Long.parseLong(br.readLine());
+
+      // Read each file and the generation it was written in
+      n = Integer.parseInt(br.readLine());
+      for (int i = 0; i < n; i++) {
+        files.put(br.readLine(), Long.parseLong(br.readLine()));
+      }
+
+      // Read each id sequence
+      line = br.readLine();
+      n = line == null ? 0 : Integer.parseInt(line);
+      for (int i = 0; i < n; i++) {
+        sequences.put(br.readLine(), Long.parseLong(br.readLine()));
+      }
+    }
+    catch (IOException e) {
+      e.printStackTrace();
+    }
+    // After try catch
+    finally {
+      // Try to close BufferReader
+      try {
+        br.close();
+      }
+      catch (IOException ex) {
+        ex.printStackTrace();
+      }
+    }
+  }
+
+  /*
+  This method finishes generations that were committed but not fully renamed into place, and deletes temporary files of generations that were never committed. Only temporary files of the files in the manifest are touched.
+  @name recover
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  public void recover() {
+    // Variables
+    File dir = getDirectory();
+    String[] names = dir.list();
+    HashSet<String> listed = new HashSet<String>();
+    File tmp;
+    String base;
+
+    // Roll forward each file whose last committed generation was not renamed into place. A later generation can commit other files before the program restarts
+    for (String name : files.keySet()) {
+      tmp = new File(tmpName(name, files.get(name)));
+      listed.add(new File(name).getAbsolutePath());
+      if (tmp.exists()) {
+        // Handle IO errors
+        try {
+          Files.move(tmp.toPath(), new File(name).toPath(), StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException e) {
+          e.printStackTrace();
+        }
+      }
+    }
+
+    // Delete leftovers of uncommitted generations of the files in the manifest
+    if (names == null) return;
+    for (String name : names) {
+      if (!name.matches(".*\\.[0-9]+\\.tmp")) continue;
+      base = name.substring(0, name.lastIndexOf('.', name.length() - ".tmp".length() - 1));
+      if (listed.contains(new File(dir, base).getAbsolutePath())) new File(dir, name).delete();
+    }
+  }
+
+  /*
+  This method commits a generation by atomically replacing the manifest. Files that no longer exist are dropped from it.
+  @name commit
+  @date 1/24/2024
+  @parameters long, ArrayList<String>
+  @returns void
+  */
+  public void commit(long generation, ArrayList<String> written) throws IOException {
+    // Variables
+    String tmp = file + ".tmp";
+    FileOutputStream out;
+    StringBuilder sb = new StringBuilder();
+
+    // Update generation of each written file and forget deleted files. A file still waiting to be renamed into place is kept
+    for (String name : written) {
+      files.put(name, generation);
+    }
+    files.entrySet().removeIf(e -> !written.contains(e.getKey()) && !new File(e.getKey()).exists() && !new File(tmpName(e.getKey(), e.getValue())).exists());
+
+    // Build manifest content
+    sb.append(generation).append('\n');
+    sb.append(files.size()).append('\n');
+    for (String name : files.keySet()) {
+      sb.append(name).append('\n');
+      sb.append(files.get(name)).append('\n');
+    }
+
+    // Id sequences can move on another thread while this is written
+    synchronized (sequences) {
+      sb.append(sequences.size()).append('\n');
+      for (String name : sequences.keySet()) {
+        sb.append(name).append('\n');
+        sb.append(sequences.get(name)).append('\n');
+      }
+    }
+
+    // Write temporary manifest, force it to disk, and rename it into place
+    out = new FileOutputStream(tmp);
+    try {
+      out.write(sb.toString().getBytes());
+      out.getChannel().force(true);
+    }
+    finally {
+      out.close();
+    }
+    Files.move(new File(tmp).toPath(), new File(file).toPath(), StandardCopyOption.ATOMIC_MOVE);
+    syncDirectory();
+
+    // Generation is committed
+    this.generation = generation;
+  }
+
+  /*
+  This method forces renames in the directory to disk. Some platforms can't open a directory, in which case the rename is left to the file system.
+  @name syncDirectory
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  public void syncDirectory() {
+    // Handle platforms where directories can't be synced
+    try (FileChannel dir = FileChannel.open(getDirectory().toPath(), StandardOpenOption.READ)) {
+      dir.force(true);
+    }
+    catch (IOException e) {
+      // Nothing more can be done on this platform
+    }
+  }
+
+  /*
+  This method gets the directory holding the manifest and the persistence files
+  @name getDirectory
+  @date 1/24/2024
+  @parameters void
+  @returns File
+  */
+  private File getDirectory() {
+    return new File(file).getAbsoluteFile().getParentFile();
+  }
+
+  /*
+  This method gets the name of the temporary file for a file in a generation
+  @name tmpName
+  @date 1/24/2024
+  @parameters String, long
+  @returns String
+  */
+  public static String tmpName(String file, long generation) {
+    return file + "." + generation + ".tmp";
+  }
+
+  /*
+  This method gets the last committed generation
+  @name getGeneration
+  @date 1/24/2024
+  @parameters void
+  @returns long
+  */
+  public long getGeneration() {
+    return generation;
+  }
+
+  /*
+  This method gets the generation a file was last written in, or -1 if it was never written through a snapshot
+  @name getGeneration
+  @date 1/24/2024
+  @parameters String
+  @returns long
+  */
+  public long getGeneration(String file) {
+    return files.containsKey(file) ? files.get(file) : -1;
+  }
+
+  /*
+  This method gets the next value of an id sequence, or a default if the sequence was never committed
+  @name getSequence
+  @date 1/24/2024
+  @parameters String, long
+  @returns long
+  */
+  public long getSequence(String name, long initial) {
+    synchronized (sequences) {
+      return sequences.containsKey(name) ? sequences.get(name) : initial;
+    }
+  }
+
+  /*
+  This method sets the next value of an id sequence. It is written with the next commit.
+  @name setSequence
+  @date 1/24/2024
+  @parameters String, long
+  @returns void
+  */
+  public void setSequence(String name, long next) {
+    synchronized (sequences) {
+      sequences.put(name, next);
+    }
+  }
+}
\ No newline at end of file
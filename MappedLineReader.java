@@ -0,0 +1,233 @@
+/*
+@file MappedLineReader.java
+@author Ronak Patel
+@date 1/24/2024
+@description This class reads a persistence file by memory-mapping it. Numbers are parsed straight from the mapped bytes and a String is only created for lines read as text, such as names.
+*/
+
+// Imports
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+
+// MappedLineReader class
+class MappedLineReader implements LineReader {
+
+  // Instance variables
+  private MappedByteBuffer buffer;
+  private int pos;
+  private int limit;
+  private byte[] scratch;
+
+  // Largest mantissa and power of ten that can be divided exactly rounded
+  private static final long MAX_EXACT_MANTISSA = 1L << 53;
+  private static final double[] POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+    1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  /*
+  Constructor that maps the whole file
+  @date 1/24/2024
+  @parameters String
+  */
+  public MappedLineReader(String file) throws IOException {
+    // Map the file and close the channel. The mapping stays valid
+    try (RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel()) {
+      // A single mapping covers at most 2 GB
+      if (channel.size() > Integer.MAX_VALUE) throw new IOException(file + " is too large to map");
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+
+    // Initialize instance variables
+    pos = 0;
+    limit = buffer.limit();
+    scratch = new byte[64];
+  }
+
+  /*
+  This method finds the line break ending the current line
+  @name lineEnd
+  @date 1/24/2024
+  @parameters void
+  @returns int
+  */
+  private int lineEnd() throws IOException {
+    // Variables
+    int end = pos;
+
+    // Like readLine, there is no line after the end of the file
+    if (pos >= limit) throw new IOException("Unexpected end of file");
+
+    // Find line break
+    while (end < limit && buffer.get(end) != '\n') {
+      end++;
+    }
+    return end;
+  }
+
+  /*
+  This method finds the end of the content of a line, not counting a carriage return
+  @name contentEnd
+  @date 1/24/2024
+  @parameters int
+  @returns int
+  */
+  private int contentEnd(int end) {
+    return end > pos && buffer.get(end - 1) == '\r' ? end - 1 : end;
+  }
+
+  /*
+  This method decodes the bytes of the next line into a String
+  @name nextString
+  @date 1/24/2024
+  @parameters void
+  @returns String
+  */
+  @Override
+  public String nextString() throws IOException {
+    // Variables
+    int end = lineEnd();
+    int length = contentEnd(end) - pos;
+    String line;
+
+    // Copy the bytes and decode them the same way FileReader does
+    if (scratch.length < length) scratch = new byte[Math.max(length, scratch.length * 2)];
+    for (int i = 0; i < length; i++) {
+      scratch[i] = buffer.get(pos + i);
+    }
+    line = new String(scratch, 0, length, Charset.defaultCharset());
+
+    // Move to next line
+    pos = end + 1;
+    return line;
+  }
+
+  /*
+  This method parses the next line as an int straight from the mapped bytes
+  @name nextInt
+  @date 1/24/2024
+  @parameters void
+  @returns int
+  */
+  @Override
+  public int nextInt() throws IOException {
+    // Variables
+    int start = pos;
+    long value = nextLong();
+
+    // Check range like Integer.parseInt
+    if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+      pos = start;
+      return Integer.parseInt(nextString());
+    }
+    return (int) value;
+  }
+
+  /*
+  This method parses the next line as a long straight from the mapped bytes
+  @name nextLong
+  @date 1/24/2024
+  @parameters void
+  @returns long
+  */
+  @Override
+  public long nextLong() throws IOException {
+    // Variables
+    int end = lineEnd();
+    int stop = contentEnd(end);
+    int i = pos;
+    boolean negative = false;
+    long value = 0;
+    byte b;
+
+    // Sign
+    if (i < stop && buffer.get(i) == '-') {
+      negative = true;
+      i++;
+    }
+
+    // Empty lines, long lines and anything that is not a digit are left to Long.parseLong to handle or report
+    if (i == stop || stop - i > 18) return Long.parseLong(nextString());
+    for (; i < stop; i++) {
+      b = buffer.get(i);
+      if (b < '0' || b > '9') return Long.parseLong(nextString());
+      value = value * 10 + (b - '0');
+    }
+
+    // Move to next line
+    pos = end + 1;
+    return negative ? -value : value;
+  }
+
+  /*
+  This method parses the next line as a double straight from the mapped bytes
+  @name nextDouble
+  @date 1/24/2024
+  @parameters void
+  @returns double
+  */
+  @Override
+  public double nextDouble() throws IOException {
+    // Variables
+    int end = lineEnd();
+    int stop = contentEnd(end);
+    int i = pos;
+    boolean negative = false;
+    boolean point = false;
+    long mantissa = 0;
+    int fraction = 0;
+    int digits = 0;
+    double value;
+    byte b;
+
+    // Sign
+    if (i < stop && buffer.get(i) == '-') {
+      negative = true;
+      i++;
+    }
+
+    // Digits with an optional decimal point. Exponents, NaN and long mantissas are left to Double.parseDouble
+    if (i == stop) return Double.parseDouble(nextString());
+    for (; i < stop; i++) {
+      b = buffer.get(i);
+      if (b == '.' && !point) {
+        point = true;
+      }
+      else if (b >= '0' && b <= '9') {
+        mantissa = mantissa * 10 + (b - '0');
+        digits++;
+        if (point) fraction++;
+        if (mantissa > MAX_EXACT_MANTISSA || fraction >= POWERS_OF_TEN.length) return Double.parseDouble(nextString());
+      }
+      else {
+        return Double.parseDouble(nextString());
+      }
+    }
+
+    // A lone decimal point is left to Double.parseDouble to report
+    if (digits == 0) return Double.parseDouble(nextString());
+
+    // Both values are exact, so the division is rounded the same way Double.parseDouble rounds
+    value = mantissa / POWERS_OF_TEN[fraction];
+
+    // Move to next line
+    pos = end + 1;
+    return negative ? -value : value;
+  }
+
+  /*
+  This method drops the mapping so it can be released
+  @name close
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  @Override
+  public void close() {
+    // The mapping is released when the buffer is garbage collected
+    buffer = null;
+  }
+}
\ No newline at end of file
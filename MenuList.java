@@ -0,0 +1,58 @@
+/*
+@file MenuList.java
+@author Ronak Patel
+@date 1/24/2024
+@description This class is the list of options of a long menu. The first options are fixed, and the rest are made from an ordered collection only when they are read, so showing one page of a menu only builds the options on that page.
+*/
+
+// Imports
+import java.util.AbstractList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+// MenuList class
+class MenuList extends AbstractList<String> {
+
+  // Instance variables
+  private List<String> head;
+  private int size;
+  private IntFunction<String> option;
+
+  /*
+  Constructor that assigns the fixed options, the number of options made from the collection and the function that makes the option at an index of the collection
+  @date 1/24/2024
+  @parameters List<String>, int, IntFunction<String>
+  */
+  public MenuList(List<String> head, int size, IntFunction<String> option) {
+    this.head = head;
+    this.size = size;
+    this.option = option;
+  }
+
+  /*
+  This method gets the option at an index, making it if it comes from the collection
+  @name get
+  @date 1/24/2024
+  @parameters int
+  @returns String
+  */
+  @Override
+  public String get(int index) {
+    // Check bounds
+    if (index < 0 || index >= size()) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+
+    return index < head.size() ? head.get(index) : option.apply(index - head.size());
+  }
+
+  /*
+  This method gets the number of options
+  @name size
+  @date 1/24/2024
+  @parameters void
+  @returns int
+  */
+  @Override
+  public int size() {
+    return head.size() + size;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,119 @@
+/*
+@file NameIndex.java
+@author Ronak Patel
+@date 1/24/2024
+@description This class finds users by the start of their first name, last name or username. Each name is kept lowercase in a sorted map, so all names that start with the same letters are next to each other and a search only visits the matches. A user in the index keeps a reference to it, so editing a name moves the user's entry.
+*/
+
+// Imports
+import java.util.TreeMap;
+
+// NameIndex class
+class NameIndex<T extends User> {
+
+  // Instance variables
+  private TreeMap<String, T> names;
+
+  // Which name a key is for, so a first name and last name that are the same get separate keys
+  public static final char FIRST_NAME = 'f';
+  public static final char LAST_NAME = 'l';
+  public static final char USERNAME = 'u';
+
+  /*
+  Constructor that creates an empty index
+  @date 1/24/2024
+  @parameters void
+  */
+  public NameIndex() {
+    names = new TreeMap<String, T>();
+  }
+
+  /*
+  This method adds a user under its first name, last name and username
+  @name add
+  @date 1/24/2024
+  @parameters T
+  @returns void
+  */
+  public void add(T user) {
+    names.put(key(user.getFirstName(), FIRST_NAME, user), user);
+    names.put(key(user.getLastName(), LAST_NAME, user), user);
+    names.put(key(user.getUsername(), USERNAME, user), user);
+    user.setNameIndex(this);
+  }
+
+  /*
+  This method removes a user from the index
+  @name remove
+  @date 1/24/2024
+  @parameters T
+  @returns void
+  */
+  public void remove(T user) {
+    names.remove(key(user.getFirstName(), FIRST_NAME, user));
+    names.remove(key(user.getLastName(), LAST_NAME, user));
+    names.remove(key(user.getUsername(), USERNAME, user));
+    user.setNameIndex(null);
+  }
+
+  /*
+  This method moves one of a user's names to a new name
+  @name rename
+  @date 1/24/2024
+  @parameters User, char, String, String
+  @returns void
+  */
+  public void rename(User user, char field, String name, String newName) {
+    // Variables
+    T entry = names.remove(key(name, field, user));
+
+    // Add entry under the new name
+    if (entry != null) names.put(key(newName, field, entry), entry);
+  }
+
+  /*
+  This method finds the users with a name that starts with a prefix, ignoring case
+  @name find
+  @date 1/24/2024
+  @parameters String
+  @returns IdList<T>
+  */
+  public IdList<T> find(String prefix) {
+    // Variables
+    IdList<T> users = new IdList<T>(User::getID);
+    String start = prefix.toLowerCase();
+
+    // Names starting with the prefix sort between it and the prefix followed by the last character
+    for (T user : names.subMap(start, start + Character.MAX_VALUE).values()) {
+      // A user can match by more than one name
+      if (users.search(user.getID()) == null) users.add(user);
+    }
+    return users;
+  }
+
+  /*
+  This method removes every user
+  @name clear
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  public void clear() {
+    // Unlink each user
+    for (T user : names.values()) {
+      user.setNameIndex(null);
+    }
+    names.clear();
+  }
+
+  /*
+  This method gets the key of one of a user's names. The id keeps users with the same name apart.
+  @name key
+  @date 1/24/2024
+  @parameters String, char, User
+  @returns String
+  */
+  private static String key(String name, char field, User user) {
+    return name.toLowerCase() + '\0' + field + user.getID();
+  }
+}
\ No newline at end of file
@@ -0,0 +1,249 @@
+/*
+@file Persister.java
+@author Ronak Patel
+@date 1/24/2024
+@description This class commits snapshots and journal records on a background thread, so a menu choice returns as soon as its change is made in memory. Changed files are captured on the menu thread, and the disk work happens here. Everything captured within the staleness window is coalesced into one generation and one flush of the journal. Pending changes are flushed on "Exit" and when the program shuts down.
+
+Enabled with -Dmarkbook.persist.async=true. The window is -Dmarkbook.persist.staleness milliseconds (default 1000).
+*/
+
+// Imports
+import java.io.IOException;
+import java.util.ArrayList;
+
+// Persister class
+class Persister implements Runnable {
+
+  // Instance variables
+  private Journal journal;
+  private Snapshot pending;
+  private ArrayList<String> records;
+  private boolean truncate;
+  private long since;
+  private boolean writing;
+  private boolean flushRequested;
+  private boolean failed;
+
+  // Whether to persist in the background and the longest a change can wait
+  public static final boolean ASYNC = Boolean.getBoolean("markbook.persist.async");
+  static final long STALENESS = Long.getLong("markbook.persist.staleness", 1000);
+
+  /*
+  Constructor that starts the background thread and flushes pending changes when the program shuts down
+  @date 1/24/2024
+  @parameters Journal
+  */
+  public Persister(Journal journal) {
+    // Variables
+    Thread thread = new Thread(this, "markbook-persister");
+
+    // Initialize instance variables
+    this.journal = journal;
+    records = new ArrayList<String>();
+
+    // Start thread
+    thread.setDaemon(true);
+    thread.start();
+    Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "markbook-persister-shutdown"));
+  }
+
+  /*
+  This method queues a captured snapshot. It replaces the files of any snapshot still waiting, and if it holds classrooms.txt the journal records before it are no longer needed.
+  @name submit
+  @date 1/24/2024
+  @parameters Snapshot
+  @returns void
+  */
+  public synchronized void submit(Snapshot snapshot) {
+    // Nothing changed
+    if (snapshot == null || snapshot.isEmpty()) return;
+
+    // A checkpoint of classrooms.txt holds every record journaled before it
+    if (snapshot.contains(journal.getCheckpointFile())) {
+      records.clear();
+      truncate = true;
+    }
+
+    // Coalesce with the waiting snapshot
+    pending = pending == null ? snapshot : snapshot.merge(pending);
+    changed();
+  }
+
+  /*
+  This method queues a journal record
+  @name record
+  @date 1/24/2024
+  @parameters String
+  @returns void
+  */
+  public synchronized void record(String record) {
+    records.add(record);
+    changed();
+  }
+
+  /*
+  This method starts the staleness window at the oldest waiting change and wakes the thread
+  @name changed
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  private void changed() {
+    if (since == 0) since = System.currentTimeMillis();
+    notifyAll();
+  }
+
+  /*
+  This method checks if any change is waiting to be written
+  @name hasPending
+  @date 1/24/2024
+  @parameters void
+  @returns boolean
+  */
+  private boolean hasPending() {
+    return pending != null || !records.isEmpty();
+  }
+
+  /*
+  This method writes every waiting change now and waits until it is on disk. It returns early if the write fails, leaving the changes queued for another attempt.
+  @name flush
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  public synchronized void flush() {
+    // Nothing to write. The next change waits for its window as usual
+    if (!hasPending() && !writing) {
+      flushRequested = false;
+      return;
+    }
+
+    // Ask the thread to write without waiting for the window
+    flushRequested = true;
+    failed = false;
+    notifyAll();
+
+    // Wait until written
+    try {
+      while ((hasPending() || writing) && !failed) {
+        wait();
+      }
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /*
+  This method runs the background thread. It waits for a change, waits until the change is as old as the staleness window allows, and then writes everything waiting at once.
+  @name run
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  public void run() {
+    // Variables
+    Snapshot snapshot;
+    ArrayList<String> batch;
+    boolean clear;
+
+    // Write batches until the program ends
+    while (true) {
+      synchronized (this) {
+        // Wait for the oldest change to reach the window, or for a flush
+        try {
+          while (!hasPending() || (!flushRequested && System.currentTimeMillis() - since < STALENESS)) {
+            if (hasPending()) wait(Math.max(1, STALENESS - (System.currentTimeMillis() - since)));
+            else wait();
+          }
+        }
+        catch (InterruptedException e) {
+          return;
+        }
+
+        // Take everything waiting
+        snapshot = pending;
+        batch = records;
+        clear = truncate;
+        pending = null;
+        records = new ArrayList<String>();
+        truncate = false;
+        since = 0;
+        writing = true;
+      }
+
+      // Write outside the lock so new changes can be queued meanwhile
+      write(snapshot, batch, clear);
+    }
+  }
+
+  /*
+  This method commits a snapshot, clears the journal if the snapshot holds classrooms.txt, and appends the records that came after it
+  @name write
+  @date 1/24/2024
+  @parameters Snapshot, ArrayList<String>, boolean
+  @returns void
+  */
+  private void write(Snapshot snapshot, ArrayList<String> batch, boolean clear) {
+    // Commit the snapshot
+    if (snapshot != null) {
+      // Handle IO errors
+      try {
+        snapshot.commit();
+      }
+      catch (IOException e) {
+        e.printStackTrace();
+        
+        // Write the snapshot again only if it failed before its commit point. After it, recover renames the rest of its files
+        if (!snapshot.isCommitted()) {
+          snapshot.abort();
+          retry(snapshot, batch, clear);
+          return;
+        }
+      }
+    }
+
+    // Records journaled before the snapshot are now in classrooms.txt
+    if (clear) journal.truncate();
+
+    // Append the remaining records with one flush
+    try {
+      journal.write(batch);
+    }
+    catch (IOException e) {
+      e.printStackTrace();
+      retry(null, batch, false);
+      return;
+    }
+
+    // Done
+    synchronized (this) {
+      writing = false;
+      if (!hasPending()) flushRequested = false;
+      notifyAll();
+    }
+  }
+
+  /*
+  This method queues a batch that failed to write again, behind anything captured since. Records are dropped if a newer checkpoint of classrooms.txt already holds them.
+  @name retry
+  @date 1/24/2024
+  @parameters Snapshot, ArrayList<String>, boolean
+  @returns void
+  */
+  private synchronized void retry(Snapshot snapshot, ArrayList<String> batch, boolean clear) {
+    // Put records back in front of newer ones
+    if (!truncate) records.addAll(0, batch);
+
+    // Newer files replace the files of the failed snapshot
+    if (snapshot != null) pending = pending == null ? snapshot : pending.merge(snapshot);
+    truncate = truncate || clear;
+
+    // Try again after another window
+    since = System.currentTimeMillis();
+    writing = false;
+    failed = true;
+    flushRequested = false;
+    notifyAll();
+  }
+}
\ No newline at end of file
@@ -0,0 +1,329 @@
+/*
+@file RankIndex.java
+@author Ronak Patel
+@date 1/24/2024
+@description This class ranks students by course grade, highest first, with ties in order of student id. It is a treap where each node also stores the size of its subtree, so changing a student's grade, finding a student's rank and getting the student at a rank all take O(log n) expected time. Each student's node is also kept by id, so a grade change can find the old node without searching for it.
+*/
+
+// Imports
+import java.util.Random;
+
+// RankIndex class
+class RankIndex {
+
+  // Node of the treap
+  private static class Node {
+    long id;
+    double grade;
+    int priority;
+    int size;
+    Node left;
+    Node right;
+
+    /*
+    Constructor that creates a leaf node
+    @date 1/24/2024
+    @parameters long, double, int
+    */
+    Node(long id, double grade, int priority) {
+      this.id = id;
+      this.grade = grade;
+      this.priority = priority;
+      size = 1;
+    }
+  }
+
+  // Instance variables
+  private Node root;
+  private LongIndex<Node> nodes;
+  private Random random;
+
+  /*
+  Constructor that creates an empty ranking
+  @date 1/24/2024
+  @parameters void
+  */
+  public RankIndex() {
+    nodes = new LongIndex<Node>();
+    random = new Random();
+  }
+
+  /*
+  This method sets the grade of a student, adding the student if it is not ranked yet
+  @name put
+  @date 1/24/2024
+  @parameters long, double
+  @returns void
+  */
+  public void put(long id, double grade) {
+    // Variables
+    Node n = nodes.get(id);
+
+    // Grade did not change
+    if (n != null && Double.compare(n.grade, grade) == 0) return;
+
+    // Take out the old node and put in a new one in its place
+    if (n != null) root = delete(root, n);
+    n = new Node(id, grade, random.nextInt());
+    root = insert(root, n);
+    nodes.put(id, n);
+  }
+
+  /*
+  This method removes a student from the ranking
+  @name remove
+  @date 1/24/2024
+  @parameters long
+  @returns void
+  */
+  public void remove(long id) {
+    // Variables
+    Node n = nodes.remove(id);
+
+    // Student is not ranked
+    if (n != null) root = delete(root, n);
+  }
+
+  /*
+  This method gets the rank of a student starting at 1, or -1 if the student is not ranked. Students with the same grade share a rank.
+  @name rank
+  @date 1/24/2024
+  @parameters long
+  @returns int
+  */
+  public int rank(long id) {
+    // Variables
+    Node target = nodes.get(id);
+    Node n = root;
+    int above = 0;
+
+    // Student is not ranked
+    if (target == null) return -1;
+
+    // Count the students with a higher grade
+    while (n != null) {
+      if (n.grade > target.grade) {
+        above += size(n.left) + 1;
+        n = n.right;
+      }
+      else {
+        n = n.left;
+      }
+    }
+    return above + 1;
+  }
+
+  /*
+  This method gets the id of the student at a position, where 0 has the highest grade
+  @name get
+  @date 1/24/2024
+  @parameters int
+  @returns long
+  */
+  public long get(int index) {
+    return node(index).id;
+  }
+
+  /*
+  This method gets the grade of the student at a position, where 0 has the highest grade
+  @name getGrade
+  @date 1/24/2024
+  @parameters int
+  @returns double
+  */
+  public double getGrade(int index) {
+    return node(index).grade;
+  }
+
+  /*
+  This method gets the number of ranked students
+  @name size
+  @date 1/24/2024
+  @parameters void
+  @returns int
+  */
+  public int size() {
+    return size(root);
+  }
+
+  /*
+  This method removes every student
+  @name clear
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  public void clear() {
+    root = null;
+    nodes.clear();
+  }
+
+  /*
+  This method checks if a node comes before another one in the ranking
+  @name before
+  @date 1/24/2024
+  @parameters Node, Node
+  @returns boolean
+  */
+  private static boolean before(Node a, Node b) {
+    return a.grade > b.grade || a.grade == b.grade && a.id < b.id;
+  }
+
+  /*
+  This method finds the node at a position
+  @name node
+  @date 1/24/2024
+  @parameters int
+  @returns Node
+  */
+  private Node node(int index) {
+    // Variables
+    Node n = root;
+
+    // Check bounds
+    if (index < 0 || index >= size()) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+
+    // Walk down by subtree sizes
+    while (true) {
+      int left = size(n.left);
+      if (index < left) {
+        n = n.left;
+      }
+      else if (index == left) {
+        return n;
+      }
+      else {
+        index -= left + 1;
+        n = n.right;
+      }
+    }
+  }
+
+  /*
+  This method inserts a node into a subtree and returns the new root of the subtree
+  @name insert
+  @date 1/24/2024
+  @parameters Node, Node
+  @returns Node
+  */
+  private Node insert(Node n, Node node) {
+    // Empty subtree
+    if (n == null) return node;
+
+    // Insert on the correct side, then rotate the node up while its priority is higher
+    if (before(node, n)) {
+      n.left = insert(n.left, node);
+      update(n);
+      if (n.left.priority > n.priority) n = rotateRight(n);
+    }
+    else {
+      n.right = insert(n.right, node);
+      update(n);
+      if (n.right.priority > n.priority) n = rotateLeft(n);
+    }
+    return n;
+  }
+
+  /*
+  This method deletes a node from a subtree and returns the new root of the subtree
+  @name delete
+  @date 1/24/2024
+  @parameters Node, Node
+  @returns Node
+  */
+  private Node delete(Node n, Node node) {
+    // Find the node, then join its subtrees in its place
+    if (n == node) return join(n.left, n.right);
+    if (before(node, n)) {
+      n.left = delete(n.left, node);
+    }
+    else {
+      n.right = delete(n.right, node);
+    }
+    update(n);
+    return n;
+  }
+
+  /*
+  This method joins two subtrees where every node on the left comes before every node on the right
+  @name join
+  @date 1/24/2024
+  @parameters Node, Node
+  @returns Node
+  */
+  private Node join(Node a, Node b) {
+    // One side is empty
+    if (a == null) return b;
+    if (b == null) return a;
+
+    // The root with the higher priority stays on top
+    if (a.priority > b.priority) {
+      a.right = join(a.right, b);
+      update(a);
+      return a;
+    }
+    b.left = join(a, b.left);
+    update(b);
+    return b;
+  }
+
+  /*
+  This method rotates the left child of a node above it
+  @name rotateRight
+  @date 1/24/2024
+  @parameters Node
+  @returns Node
+  */
+  private Node rotateRight(Node n) {
+    // Variables
+    Node l = n.left;
+
+    // Rotate and fix sizes bottom up
+    n.left = l.right;
+    l.right = n;
+    update(n);
+    update(l);
+    return l;
+  }
+
+  /*
+  This method rotates the right child of a node above it
+  @name rotateLeft
+  @date 1/24/2024
+  @parameters Node
+  @returns Node
+  */
+  private Node rotateLeft(Node n) {
+    // Variables
+    Node r = n.right;
+
+    // Rotate and fix sizes bottom up
+    n.right = r.left;
+    r.left = n;
+    update(n);
+    update(r);
+    return r;
+  }
+
+  /*
+  This method recomputes the size of a node's subtree from its children
+  @name update
+  @date 1/24/2024
+  @parameters Node
+  @returns void
+  */
+  private static void update(Node n) {
+    n.size = size(n.left) + size(n.right) + 1;
+  }
+
+  /*
+  This method gets the size of a subtree, which is 0 if it is empty
+  @name size
+  @date 1/24/2024
+  @parameters Node
+  @returns int
+  */
+  private static int size(Node n) {
+    return n == null ? 0 : n.size;
+  }
+}
\ No newline at end of file
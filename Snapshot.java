@@ -0,0 +1,171 @@
+/*
+@file Snapshot.java
+@author Ronak Patel
+@date 1/24/2024
+@description This class groups the files written by one persist into a generation. Every file is written to a temporary file first. On commit all temporary files are forced to disk in one batch, the manifest is replaced to commit the generation, and only then is each file renamed into place. If a rename fails after the manifest was replaced, the generation still stands and Manifest.recover renames the rest on the next start. A deferred snapshot captures its files in memory instead, so it can be committed later on another thread; its generation is chosen when it is committed.
+*/
+
+// Imports
+import java.io.IOException;
+import java.util.ArrayList;
+
+// Snapshot class
+class Snapshot {
+
+  // Instance variables
+  private Manifest manifest;
+  private long generation;
+  private ArrayList<SnapshotWriter> writers;
+  private boolean deferred;
+  private boolean committed;
+
+  /*
+  Constructor that starts the generation after the last committed one
+  @date 1/24/2024
+  @parameters Manifest
+  */
+  public Snapshot(Manifest manifest) {
+    this(manifest, false);
+  }
+
+  /*
+  Constructor that starts a snapshot which is either written directly or captured in memory until it is committed
+  @date 1/24/2024
+  @parameters Manifest, boolean
+  */
+  public Snapshot(Manifest manifest, boolean deferred) {
+    this.manifest = manifest;
+    this.deferred = deferred;
+    if (!deferred) generation = manifest.getGeneration() + 1;
+    writers = new ArrayList<SnapshotWriter>();
+  }
+
+  /*
+  This method opens a writer for a file in this generation
+  @name open
+  @date 1/24/2024
+  @parameters String
+  @returns SnapshotWriter
+  */
+  public SnapshotWriter open(String file) throws IOException {
+    // Variables
+    SnapshotWriter sw = deferred ? new SnapshotWriter(file) : new SnapshotWriter(file, Manifest.tmpName(file, generation));
+
+    // Keep track of the writer so it is committed with the generation
+    writers.add(sw);
+    return sw;
+  }
+
+  /*
+  This method commits the generation. If nothing was written, nothing is done.
+  @name commit
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  public void commit() throws IOException {
+    // Variables
+    ArrayList<String> files = new ArrayList<String>();
+
+    // If no file changed, there is nothing to commit
+    if (writers.isEmpty()) return;
+    
+    // Write captured files to the temporary files of the next generation
+    if (deferred) {
+      generation = manifest.getGeneration() + 1;
+      for (SnapshotWriter sw : writers) {
+        sw.spill(Manifest.tmpName(sw.getFile(), generation));
+      }
+    }
+
+    // Force every temporary file to disk in one batch
+    for (SnapshotWriter sw : writers) {
+      sw.sync();
+      files.add(sw.getFile());
+    }
+
+    // Commit point: the manifest now names this generation
+    manifest.commit(generation, files);
+    committed = true;
+
+    // Rename each file into place, then make the renames durable
+    for (SnapshotWriter sw : writers) {
+      sw.replace();
+    }
+    manifest.syncDirectory();
+  }
+
+  /*
+  This method adds the files of an older deferred snapshot that this snapshot does not write again, so both are committed as one generation
+  @name merge
+  @date 1/24/2024
+  @parameters Snapshot
+  @returns Snapshot
+  */
+  public Snapshot merge(Snapshot older) {
+    // Variables
+    ArrayList<SnapshotWriter> merged = new ArrayList<SnapshotWriter>();
+
+    // Keep older files that were not captured again, then the newer files
+    for (SnapshotWriter sw : older.writers) {
+      if (!contains(sw.getFile())) merged.add(sw);
+    }
+    merged.addAll(writers);
+    writers = merged;
+    return this;
+  }
+
+  /*
+  This method checks if a file is written in this snapshot
+  @name contains
+  @date 1/24/2024
+  @parameters String
+  @returns boolean
+  */
+  public boolean contains(String file) {
+    // Check each writer
+    for (SnapshotWriter sw : writers) {
+      if (sw.getFile().equals(file)) return true;
+    }
+    return false;
+  }
+
+  /*
+  This method checks if no file is written in this snapshot
+  @name isEmpty
+  @date 1/24/2024
+  @parameters void
+  @returns boolean
+  */
+  public boolean isEmpty() {
+    return writers.isEmpty();
+  }
+
+  /*
+  This method checks if the generation passed its commit point. Its files count as written even if a rename into place failed, since the rest are renamed when the manifest is recovered.
+  @name isCommitted
+  @date 1/24/2024
+  @parameters void
+  @returns boolean
+  */
+  public boolean isCommitted() {
+    return committed;
+  }
+
+  /*
+  This method abandons the generation and deletes its temporary files. The real files keep their last committed content. A committed generation is not abandoned, because its temporary files are needed to finish renaming it.
+  @name abort
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  public void abort() {
+    // Temporary files of a committed generation are rolled forward by recover
+    if (committed) return;
+    
+    // Delete each temporary file
+    for (SnapshotWriter sw : writers) {
+      sw.discard();
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,220 @@
+/*
+@file SnapshotWriter.java
+@author Ronak Patel
+@date 1/24/2024
+@description This class writes one persistence file in a single pass. The data is written to a temporary file through one buffer, and the snapshot that opened it later forces it to disk and renames it over the real file. A writer can also capture the file in memory, in which case the data is only written to the temporary file when the snapshot is committed. The number of bytes written and the time taken can be reported per file.
+*/
+
+// Imports
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+// SnapshotWriter class
+class SnapshotWriter {
+
+  // Instance variables
+  private String file;
+  private String tmp;
+  private FileOutputStream out;
+  private ByteArrayOutputStream memory;
+  private BufferedWriter bw;
+  private long start;
+  private long bytes;
+  private long nanos;
+
+  // Size of the write buffer and whether to print a report after each file
+  private static final int BUFFER_SIZE = 1 << 16;
+  private static final boolean REPORT = Boolean.getBoolean("markbook.persist.report");
+
+  /*
+  Constructor that opens the temporary file for writing. The real file is not touched until the snapshot is committed.
+  @date 1/24/2024
+  @parameters String, String
+  */
+  public SnapshotWriter(String file, String tmp) throws IOException {
+    this.file = file;
+    this.tmp = tmp;
+    start = System.nanoTime();
+    out = new FileOutputStream(tmp);
+    bw = new BufferedWriter(new OutputStreamWriter(out), BUFFER_SIZE);
+  }
+
+  /*
+  Constructor that captures the file in memory. Nothing is written to disk until the writer is spilled.
+  @date 1/24/2024
+  @parameters String
+  */
+  public SnapshotWriter(String file) {
+    this.file = file;
+    start = System.nanoTime();
+    memory = new ByteArrayOutputStream();
+    bw = new BufferedWriter(new OutputStreamWriter(memory), BUFFER_SIZE);
+  }
+
+  /*
+  This method writes a line to the file
+  @name writeLine
+  @date 1/24/2024
+  @parameters String
+  @returns void
+  */
+  public void writeLine(String line) throws IOException {
+    bw.write(line);
+    bw.write('\n');
+  }
+
+  /*
+  This method writes binary data to the file after any buffered lines
+  @name write
+  @date 1/24/2024
+  @parameters ByteBuffer
+  @returns void
+  */
+  public void write(ByteBuffer buffer) throws IOException {
+    // Keep the order of lines written before
+    bw.flush();
+    
+    // Copy the buffer when capturing in memory
+    if (memory != null) {
+      byte[] bytes = new byte[buffer.remaining()];
+      buffer.get(bytes);
+      memory.write(bytes);
+      return;
+    }
+    
+    // Write the whole buffer
+    while (buffer.hasRemaining()) {
+      out.getChannel().write(buffer);
+    }
+  }
+
+  /*
+  This method flushes the buffer and records the bytes written and the time taken. The file stays open until it is synced.
+  @name close
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  public void close() throws IOException {
+    // Flush the buffer once
+    bw.flush();
+
+    // Record statistics
+    nanos = System.nanoTime() - start;
+    bytes = memory != null ? memory.size() : out.getChannel().size();
+
+    // Print report if enabled
+    if (REPORT) System.out.println(report());
+  }
+
+  /*
+  This method writes a file captured in memory to its temporary file. The captured data is kept, so the file can be spilled again if the snapshot has to be retried.
+  @name spill
+  @date 1/24/2024
+  @parameters String
+  @returns void
+  */
+  public void spill(String tmp) throws IOException {
+    this.tmp = tmp;
+    out = new FileOutputStream(tmp);
+    memory.writeTo(out);
+  }
+
+  /*
+  This method forces the temporary file to disk and closes it
+  @name sync
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  public void sync() throws IOException {
+    // Flush lines written directly. Captured lines were flushed when the file was closed
+    if (memory == null) bw.flush();
+    out.getChannel().force(true);
+    bw.close();
+    out.close();
+  }
+
+  /*
+  This method atomically renames the temporary file over the real file
+  @name replace
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  public void replace() throws IOException {
+    Files.move(new File(tmp).toPath(), new File(file).toPath(), StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /*
+  This method closes and deletes the temporary file without touching the real file
+  @name discard
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  public void discard() {
+    // Try to close the file
+    try {
+      bw.close();
+      if (out != null) out.close();
+    }
+    catch (IOException e) {
+      e.printStackTrace();
+    }
+
+    // Delete temporary file if one was written
+    if (tmp != null) new File(tmp).delete();
+  }
+
+  /*
+  This method gets the name of the real file
+  @name getFile
+  @date 1/24/2024
+  @parameters void
+  @returns String
+  */
+  public String getFile() {
+    return file;
+  }
+
+  /*
+  This method gets the number of bytes in the written file
+  @name getBytes
+  @date 1/24/2024
+  @parameters void
+  @returns long
+  */
+  public long getBytes() {
+    return bytes;
+  }
+
+  /*
+  This method gets the time taken to write the file in nanoseconds
+  @name getNanos
+  @date 1/24/2024
+  @parameters void
+  @returns long
+  */
+  public long getNanos() {
+    return nanos;
+  }
+
+  /*
+  This method returns a line describing the bytes and time for the file
+  @name report
+  @date 1/24/2024
+  @parameters void
+  @returns String
+  */
+  public String report() {
+    return "Persisted " + file + ": " + bytes + " bytes in " + (nanos / 1000) / 1000.0 + " ms";
+  }
+}
\ No newline at end of file
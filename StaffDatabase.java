@@ -12,10 +12,20 @@ import java.util.ArrayList;
 class StaffDatabase {
 
   // Instance variables
-  public ArrayList<Admin> staff;
+  public IdList<Admin> staff;
+  private LongIndex<Admin> index;
+  private UsernameIndex<Admin> usernames;
+  private NameIndex<Admin> names;
   private StudentDatabase sd;
   private ClassroomDatabase cd;
   private String file;
+  private boolean dirty;
+  private Manifest manifest;
+  private Persister persister;
+  private IdAllocator ids;
+  
+  // File recording the last committed generation of persistence files
+  public static final String MANIFEST = "markbook.manifest";
 
   /*
   Constructor with files to populate
@@ -23,15 +33,39 @@ class StaffDatabase {
   @parameters String, String, String
   */
   public StaffDatabase(String sFile, String cFile, String stFile) {
+    // Finish or discard a persist interrupted by a crash before reading any file
+    manifest = new Manifest(MANIFEST);
+    manifest.recover();
+    
     // Instantiate staff
-    staff = new ArrayList<Admin>();
-    sd = new StudentDatabase(stFile);
-    cd = new ClassroomDatabase(cFile);
+    staff = new IdList<Admin>(Admin::getID);
+    index = new LongIndex<Admin>();
+    usernames = new UsernameIndex<Admin>();
+    names = new NameIndex<Admin>();
+    cd = new ClassroomDatabase(cFile, manifest);
     file = sFile;
+    ids = new IdAllocator(manifest, IdAllocator.ADMINS, 1000000000L, 9999999999L);
+    
+    // Read all files at the same time, then link them on this thread
+    if (StartupLoader.PARALLEL) {
+      StartupLoader loader = new StartupLoader(sFile, cFile, stFile);
+      sd = loader.getStudentDatabase();
+      populate(loader.getAccounts());
+      cd.populate(this, loader);
+      loader.shutdown();
+    }
+    // Read files one after another
+    else {
+      sd = new StudentDatabase(stFile);
+      populate(new Keyboard().getAccounts(sFile));
+      cd.populate(this);
+    }
+    
+    // Students get ids from the sequence in the manifest
+    sd.setIdAllocator(new IdAllocator(manifest, IdAllocator.STUDENTS, 1000000000L, 9999999999L));
     
-    // Populate staff database and classroom database
-    populate(sFile);
-    cd.populate(this);
+    // Loaded data matches the files
+    cd.markClean();
   }
 
   /*
@@ -42,11 +76,12 @@ class StaffDatabase {
   @returns void
   */
   public void add(Admin admin) {
-    // Add to staff
+    // Add to staff in order of id and index it by id, username and names
     staff.add(admin);
-    
-    // Sort staff
-    sort(0, staff.size()-1);
+    index.put(admin.getID(), admin);
+    usernames.add(admin);
+    names.add(admin);
+    dirty = true;
   }
 
   /*
@@ -62,26 +97,41 @@ class StaffDatabase {
   }
 
   /*
-  This method searches for an Admin object using username and password. Sequential search is used
+  This method searches for an Admin object using username and password. The username is looked up in the username index
   @name searchNames
   @date 1/14/2024
   @parameters String, String
   @returns Admin
   */
   public Admin searchNames(String username, String password) {
-  
-    // Iterate over database until match is found
-    for (Admin a : staff) {
-      // If match is found, return admin object
-      if (a.isMatch(username, password)) {
-        return a;
-      }
+    // Variables
+    Admin a = usernames.get(username);
+    
+    // Return admin object if the password matches
+    if (a != null && a.isMatch(username, password)) {
+      return a;
+    }
+    
+    // Accounts read with a username that was already taken can still log in
+    for (Admin duplicate : usernames.getDuplicates(username)) {
+      if (duplicate.isMatch(username, password)) return duplicate;
     }
     
     // Return null if not found
     return null;
   }
 
+  /*
+  This method finds the admins whose first name, last name or username starts with a prefix
+  @name findAdmins
+  @date 1/24/2024
+  @parameters String
+  @returns IdList<Admin>
+  */
+  public IdList<Admin> findAdmins(String prefix) {
+    return names.find(prefix);
+  }
+
   /*
   This method searches for an Admin object using id
   @name searchID
@@ -90,56 +140,42 @@ class StaffDatabase {
   @returns Admin
   */
   public Admin searchID(long id) {
-    // Variables
-    int left = 0, right = staff.size()-1;
-    
-    // Continue until left and right meet
-    while (left <= right) {
-      // Get middle index
-      int mid = (left + right)/2;
-      
-      // If match is found, return the admin object
-      if (staff.get(mid).getID() == id) {
-        return staff.get(mid);
-      }
-      // If id is greater than mid, search right half
-      else if (staff.get(mid).getID() < id) {
-        left = mid + 1;
-      }
-      // If id is less than mid, search left half
-      else {
-        right = mid - 1;
-      }
-    }
-    
-    // If not found, return null object
-    return null;
+    // Look up id in the index
+    return index.get(id);
   }
    
    
   /*
-  This method populates the StaffDatabase with Admin objects
+  This method populates the StaffDatabase with Admin objects from the accounts read from the file
   @name populate
   @date 1/17/2024
-  @parameters String
+  @parameters ArrayList<String[]>
   @returns void
   */
-  private void populate(String file) {
-    // Variables
-    Keyboard keyboard = new Keyboard();
-    ArrayList<String[]> accounts;
-    
-    // Get accounts form file
-    accounts = keyboard.getAccounts(file);
-    
+  private void populate(ArrayList<String[]> accounts) {
     // Loop through each acount, make an Admin object, and add it to database
     for (String[] account : accounts) {
       // Add to staff
-      staff.add(new Admin(account[0], account[1], account[2], User.decrypt(account[3]), Long.parseLong(account[4])));
+      Admin admin = new Admin(account[0], account[1], account[2], User.decrypt(account[3]), Long.parseLong(account[4]));
+      staff.add(admin);
+      index.put(admin.getID(), admin);
+      names.add(admin);
+      
+      // An account with a username that is already taken is kept as a duplicate of it, so it can still log in
+      usernames.add(admin);
     }
+  }
 
-    // Sort admins
-    sort(0, staff.size()-1);
+  /*
+  This method persists changes in the background from now on. Journal records are written by the persister too.
+  @name setPersister
+  @date 1/24/2024
+  @parameters Persister
+  @returns void
+  */
+  public void setPersister(Persister persister) {
+    this.persister = persister;
+    cd.getJournal().setPersister(persister);
   }
 
   /*
@@ -158,12 +194,34 @@ class StaffDatabase {
   @name getAdmins
   @date 1/14/2024
   @parameters void
-  @returns ArrayList<Admin>
+  @returns IdList<Admin>
   */
-  public ArrayList<Admin> getAdmins() {
+  public IdList<Admin> getAdmins() {
     return staff;
   }
 
+  /*
+  This method returns the file associated to this database
+  @name getFile
+  @date 1/16/2024
+  @parameters void
+  @returns String
+  */
+  public String getFile() {
+    return file;
+  }
+
+  /*
+  Gets the manifest of committed persistence files
+  @name getManifest
+  @date 1/24/2024
+  @parameters void
+  @returns Manifest
+  */
+  public Manifest getManifest() {
+    return manifest;
+  }
+
   /*
   Gets classroom database
   @name getClassroomDatabase
@@ -184,16 +242,8 @@ class StaffDatabase {
   */
   private boolean isUnique(long id) {
 
-    // Iterate over all admins
-    for (Admin a : staff) {
-      // If id is found, return false
-      if (a.getID() == id) {
-        return false;
-      }
-    }
-
-    // Return unique
-    return true;
+    // Unique if no admin has the id
+    return !index.containsKey(id);
   }
 
   
@@ -221,23 +271,23 @@ class StaffDatabase {
     firstName = keyboard.getLine("\nEnter first name: ");
     lastName = keyboard.getLine("\nEnter last name: ");
     username = keyboard.getWord("\nEnter username (one word only): ");
+    
+    // Prompt again until the username is not taken
+    while (usernames.contains(username)) {
+      username = keyboard.getWord("\nUsername " + username + " is already taken. Enter username (one word only): ");
+    }
     keyboard.getLine(""); // Skip error
     password = keyboard.getLine("Enter password: ");
     
-    // Generate 10 digit random id
-    do {
-      id = (long)(Math.random() * 8999999999.0)+1000000000L;
-    } while (!isUnique(id));
+    // Get next free 10 digit id
+    id = ids.allocate(i -> !isUnique(i));
     
     // Confirmation Message
     keyboard.print("\n\nRegistered user successfully!");
     
     // Create new admin and return it
     admin = new Admin(firstName, lastName, username, password, id);
-    staff.add(admin);
-    
-    // Sort staff
-    this.sort(0, staff.size()-1);
+    add(admin);
     
     // keyboard.persistAdminInfo(file, this);
     
@@ -245,143 +295,209 @@ class StaffDatabase {
   }
 
   /*
-  This method is where the user choice will be identified and executed
+  This method is where the user choice will be executed. The command already holds the ids it acts on, so the action picks the code to run without reading the option's text.
   @name execute
   @date 1/22/2024
-  @parameters String, Admin
+  @parameters Command, Admin
   @returns void
   */
-  public void execute(String choice, Admin a) {
+  public void execute(Command command, Admin a) {
     // Variables
     Keyboard keyboard = new Keyboard();
+    Classroom c;
+    Student s;
+    Assignment assignment;
+    double grade;
+    int ranked;
     
     // Use switch case to execute choice
-    switch (choice) {
+    switch (command.getAction()) {
       
       // If classroom is added
-      case "Add Classroom":
+      case ADD_CLASSROOM:
         cd.create(a);
         break;
       
       // If admin needs to be added
-      case "Add Admin":
+      case ADD_ADMIN:
         createAdmin();
         break;
       
       // Add student to database
-      case "Add Student to Database":
+      case ADD_STUDENT_TO_DATABASE:
         sd.create();
         break;
       
+      // Find students or admins by name and run the option chosen for one of them
+      case FIND_STUDENT:
+      case FIND_ADMIN:
+        execute(keyboard.find(command, a, this), a);
+        return;
+      
       // Delete database
-      case "Purge":
+      case PURGE:
         purge(a);
         break;
       
-      // Default
-      default:
-        // If admin needs to deleted
-        if (choice.length() >= 12 && choice.substring(0, 12).equals("Delete Admin")) {
-          deleteAdmin(Long.parseLong(choice.substring(14, choice.length()-1)));
-        }
-        
-        // If classroom needs to deleted
-        else if (choice.length() >= 16 && choice.substring(0, 16).equals("Delete Classroom")) { 
-         cd.deleteClassroom(Integer.parseInt(choice.substring(18, choice.length()-1)));
-        }
-        
-        
-        // If assignment needs to be created
-        else if (choice.length() >= 17 && choice.substring(0, 17).equals("Create Assignment")) {
-         cd.searchID(Integer.parseInt(choice.substring(19, choice.length()-1))).createAssignment();
-        }
-        
-        
-        // If add students to classroom
-        else if (choice.length() >= 24 && choice.substring(0, 24).equals("Add Student to Classroom")) {
-         cd.searchID(Integer.parseInt(choice.substring(choice.length()-20, choice.length()-14))).addStudent(sd.searchID(Long.parseLong(choice.substring(choice.length()-11, choice.length()-1))));
-        }
-        
-        
-        // If changing assignment grade
-        else if (choice.length() >= 23 && choice.substring(0, 23).equals("Change Assignment Grade")) {
-          cd.searchID(Integer.parseInt(choice.substring(choice.length()-31, choice.length()-25))).searchID(Long.parseLong(choice.substring(choice.length()-11, choice.length()-1))).searchID(Integer.parseInt(choice.substring(choice.length()-22, choice.length()-14))).grade();
-        }
-        
-        // If changing student username
-        else if (choice.length() >= 21 && choice.substring(0, 21).equals("Edit Student Username")) {
-          sd.searchID(Long.parseLong(choice.substring(choice.length()-11, choice.length()-1))).editUsername();
-        }
-        
-        // If changing student password
-        else if (choice.length() >= 21 && choice.substring(0, 21).equals("Edit Student Password")) {
-          sd.searchID(Long.parseLong(choice.substring(choice.length()-11, choice.length()-1))).editPassword();
-        }
-        
-        // If changing student first name
-        else if (choice.length() >= 23 && choice.substring(0, 23).equals("Edit Student First Name")) {
-          sd.searchID(Long.parseLong(choice.substring(choice.length()-11, choice.length()-1))).editFirstName();
-        }
-        
-        // If changing student last name
-        else if (choice.length() >= 22 && choice.substring(0, 22).equals("Edit Student Last Name")) {
-          sd.searchID(Long.parseLong(choice.substring(choice.length()-11, choice.length()-1))).editLastName();
-        }
-        
-        // If changing admin username
-        else if (choice.equals("Edit Admin Username (" + a.getUsername() + ")")) {
-          a.editUsername();
-        }
-        
-        // If changing admin password
-        else if (choice.equals("Edit Admin Password")) {
-          a.editPassword();
-        }
+      // Show the course grades of every classroom together
+      case SCHOOL_GRADE_DISTRIBUTION:
+        keyboard.printDistribution("All Classrooms", cd.getCourseGradeHistogram());
+        break;
+      
+      // Write all journaled changes to classrooms.txt before exiting
+      case EXIT:
+        cd.getJournal().requestCheckpoint();
+        break;
+      
+      // If admin needs to deleted
+      case DELETE_ADMIN:
+        deleteAdmin(command.getUser());
+        break;
+      
+      // If classroom needs to deleted
+      case DELETE_CLASSROOM:
+        cd.deleteClassroom(command.getClassroom());
+        break;
+      
+      // If assignment needs to be created
+      case CREATE_ASSIGNMENT:
+        c = cd.searchID(command.getClassroom());
+        c.createAssignment(cd.allocateAssignmentID(c));
+        break;
+      
+      // If add students to classroom
+      case ADD_STUDENT_TO_CLASSROOM:
+        cd.searchID(command.getClassroom()).addStudent(sd.searchID(command.getUser()));
+        break;
+      
+      // If changing assignment grade
+      case CHANGE_ASSIGNMENT_GRADE:
+        cd.searchID(command.getClassroom()).gradeAssignment(command.getUser(), command.getAssignment());
+        break;
+      
+      // If changing student username
+      case EDIT_STUDENT_USERNAME:
+        sd.searchID(command.getUser()).editUsername();
+        break;
+      
+      // If changing student password
+      case EDIT_STUDENT_PASSWORD:
+        sd.searchID(command.getUser()).editPassword();
+        break;
+      
+      // If changing student first name
+      case EDIT_STUDENT_FIRST_NAME:
+        sd.searchID(command.getUser()).editFirstName();
+        break;
+      
+      // If changing student last name
+      case EDIT_STUDENT_LAST_NAME:
+        sd.searchID(command.getUser()).editLastName();
+        break;
+      
+      // If changing admin username
+      case EDIT_ADMIN_USERNAME:
+        a.editUsername();
+        break;
+      
+      // If changing admin password
+      case EDIT_ADMIN_PASSWORD:
+        a.editPassword();
+        break;
+      
+      // If changing admin first name
+      case EDIT_ADMIN_FIRST_NAME:
+        a.editFirstName();
+        break;
+      
+      // If changing admin last name
+      case EDIT_ADMIN_LAST_NAME:
+        a.editLastName();
+        break;
+      
+      // If deleting assignment
+      case DELETE_ASSIGNMENT:
+        cd.searchID(command.getClassroom()).removeAssignment(command.getAssignment());
+        break;
+      
+      // If deleting student from database
+      case DELETE_STUDENT_FROM_DATABASE:
+        sd.deleteStudent(command.getUser());
+        break;
+      
+      // If deleting student from classroom
+      case DELETE_STUDENT_FROM_CLASSROOM:
+        cd.searchID(command.getClassroom()).deleteStudent(sd.searchID(command.getUser()));
+        break;
+      
+      // If adding admin to classroom
+      case ADD_ADMIN_TO_CLASSROOM:
+        cd.searchID(command.getClassroom()).addAdmin(searchID(command.getUser()));
+        break;
+      
+      // If getting average grade for an assignment
+      case AVERAGE_GRADE:
+        c = cd.searchID(command.getClassroom());
+        assignment = c.getAssignmentDatabase().searchID(command.getAssignment());
+        grade = assignment.getAverageGrade(c);
         
-        // If changing student first name
-        else if (choice.equals("Edit Admin First Name (" + a.getFirstName() + ")")) {
-          a.editFirstName();
-        }
+        keyboard.print("\nAverage Grade of " + assignment.getName() + ": "+ (grade == -1 ? "No grades have been added" : grade + "%"));
+        break;
+      
+      // If showing the grade distribution of an assignment
+      case ASSIGNMENT_GRADE_DISTRIBUTION:
+        c = cd.searchID(command.getClassroom());
+        assignment = c.getAssignmentDatabase().searchID(command.getAssignment());
+        keyboard.printDistribution(assignment.getName(), assignment.getHistogram(c));
+        break;
+      
+      // If showing the grade distribution of a classroom
+      case CLASSROOM_GRADE_DISTRIBUTION:
+        c = cd.searchID(command.getClassroom());
+        keyboard.printDistribution(c.getName() + " Course Grades", c.getCourseGradeHistogram());
+        break;
+      
+      // If showing the students with the highest and lowest course grades
+      case CLASS_RANK:
+        c = cd.searchID(command.getClassroom());
         
-        // If changing admin last name
-        else if (choice.equals("Edit Admin Last Name (" + a.getLastName() + ")")) {
-          a.editLastName();
+        // Highest first
+        keyboard.print("\nTop Students of " + c.getName() + ":");
+        for (Student top : c.getTopStudents(5)) {
+          keyboard.print(c.getRank(top.getID()) + ". " + top.getFirstName() + " " + top.getLastName() + ": " + top.getCourseGrade(c) + "%");
         }
         
-        // If deleting assignment
-        else if (choice.length() >= 17 && choice.substring(0, 17).equals("Delete Assignment")) {
-          cd.searchID(Integer.parseInt(choice.substring(19, 25))).removeAssignment(Integer.parseInt(choice.substring(28, choice.length()-1)));
+        // Lowest first, leaving out students already listed at the top
+        ranked = c.getGrades().ranking().size();
+        if (ranked <= 5) break;
+        keyboard.print("\nBottom Students of " + c.getName() + ":");
+        for (Student bottom : c.getBottomStudents(Math.min(5, ranked - 5))) {
+          keyboard.print(c.getRank(bottom.getID()) + ". " + bottom.getFirstName() + " " + bottom.getLastName() + ": " + bottom.getCourseGrade(c) + "%");
         }
+        break;
+      
+      // If calculating course grade
+      case VIEW_COURSE_GRADE:
+        c = cd.searchID(command.getClassroom());
+        s = sd.searchID(command.getUser());
+        grade = s.getCourseGrade(c);
         
-        // If deleting student from classroom
-        else if (choice.length() >= 29 && choice.substring(0, 29).equals("Delete Student from Classroom")) {
-          cd.searchID(Integer.parseInt(choice.substring(31, 37))).deleteStudent(sd.searchID(Long.parseLong(choice.substring(40, choice.length()-1))));
-        }
-
-        // If adding admin to classroom
-        else if (choice.length() >= 22 && choice.substring(0, 22).equals("Add Admin to Classroom")) {
-          cd.searchID(Integer.parseInt(choice.substring(choice.length()-20, choice.length()-14))).addAdmin(searchID(Long.parseLong(choice.substring(choice.length()-11, choice.length()-1))));
-        }
-
-        // If getting average grade for an assignment
-        else if (choice.length() >= 13 && choice.substring(0, 13).equals("Average Grade")) {
-          Classroom c = cd.searchID(Integer.parseInt(choice.substring(15, 21)));
-          Assignment assignment = c.getAssignmentDatabase().searchID(Integer.parseInt(choice.substring(24, choice.length()-1)));
-
-          keyboard.print("\nAverage Grade of " + assignment.getName() + ": "+ (assignment.getAverageGrade(c) == -1 ? "No grades have been added" : assignment.getAverageGrade(c) + "%"));
-        }
-
-        // If calculating course grade
-        else if (choice.length() >= 17 && choice.substring(0, 17).equals("View Course Grade")) {
-          Classroom c = cd.searchID(Integer.parseInt(choice.substring(19, 25)));
-          Student s = sd.searchID(Long.parseLong(choice.substring(choice.length()-11, choice.length()-1)));
-
-          keyboard.print("\nCourse Grade of " + s.getFirstName() + " " + s.getLastName() + ": " + (s.getCourseGrade(c) == -1 ? "No grades have been added" : s.getCourseGrade(c) + "%"));
-          
-        }
+        keyboard.print("\nCourse Grade of " + s.getFirstName() + " " + s.getLastName() + ": " + (grade == -1 ? "No grades have been added" : grade + "%"));
+        if (grade != -1) keyboard.print("Class Rank: " + c.getRank(s.getID()) + " of " + c.getGrades().ranking().size());
+        break;
+      
+      // Return to the top menu
+      default:
+        break;
+    }
+    // Persist changed information, in the background if a persister is running
+    if (persister != null) {
+      persister.submit(keyboard.captureInfo(this));
+      if (command.getAction() == Command.Action.EXIT) persister.flush();
+    }
+    else {
+      keyboard.persistInfo(this);
     }
-    // Persist all information
-    keyboard.persistInfo(this);
   }
 
   /*
@@ -397,10 +513,14 @@ class StaffDatabase {
     
     // From all classrooms, remove admin
     for (Classroom c : a.getClassrooms()) {
-      c.getAdmins().remove(a);
+      c.removeAdmin(a);
     }
     
     staff.remove(a);
+    index.remove(id);
+    usernames.remove(a);
+    names.remove(a);
+    dirty = true;
   }
 
   /*
@@ -412,92 +532,51 @@ class StaffDatabase {
   */
   private void purge(Admin a) {
     cd.purge();
-    sd.getStudents().clear();
-    staff = new ArrayList<Admin>() {{add(a);}};
+    sd.clear();
+    staff.clear();
+    index.clear();
+    usernames.clear();
+    names.clear();
+    add(a);
     a.getClassrooms().clear();
   }
 
-
   /*
-  This function takes sorts the staff arraylist using quick sort.
-  @name sort
-  @date 1/16/2024
-  @parameters int, int
-  @returns void
-  */
-  private void sort(int low, int high) {
-    if (low < high) {
-      // Get pivot and sort around pivot
-      int pivot = partitionRandomPivot(low, high);
-      sort(low, pivot-1);
-      sort(pivot+1, high);
-    }
-  }
-  
-  /*
-  This method returns the file associated to this database
-  @name getFile
-  @date 1/16/2024
+  This method checks if the staff or any admin has changed since it was last persisted
+  @name isDirty
+  @date 1/24/2024
   @parameters void
-  @returns String
-  */
-  public String getFile() {
-    return file;
-  }
-
-     /*
-  This function assigns a random pivot value and quickSort around the pivot. Another function is called to help with this.
-  @name partitionRandomPivot
-  @date 1/16/2024
-  @parameters int, int
-  @returns int
+  @returns boolean
   */
-  private int partitionRandomPivot(int low, int high) {
-    // Variables
-    int pivot = (int) (Math.random() * (high - low + 1)) + low;
-    Admin temp;
+  public boolean isDirty() {
+    // If admins were added or removed
+    if (dirty) return true;
     
-    // Swap high value with pivot
-    temp = staff.get(high);
-    staff.set(high, staff.get(pivot));
-    staff.set(pivot, temp);
+    // If any admin was edited
+    for (Admin a : staff) {
+      if (a.isDirty()) return true;
+    }
     
-    // Return pivot position
-    return partition(low, high);
+    // Nothing changed
+    return false;
   }
 
   /*
-  This function arranges the arraylist values around the pivot.
-  @name partition
-  @date 1/16/2024
-  @parameters int, int
-  @returns int
+  This method marks the staff and all admins as persisted
+  @name markClean
+  @date 1/24/2024
+  @parameters void
+  @returns void
   */
-  private int partition(int low, int high) {
-    // Variables
-    long pivot = staff.get(high).getID();
-    int i = low - 1;
-    Admin temp;
+  public void markClean() {
+    dirty = false;
     
-    // Go through all values in array to arrange them around the pivot
-    for (int j = low; j <= high - 1; j++) {
-      // Check if the j value is less than pivot. If so, swap i value with j value
-      if (staff.get(j).getID() < pivot) {
-        // Increment i
-        i++;
-        
-        // Swap values
-        temp = staff.get(i);
-        staff.set(i, staff.get(j));  
-        staff.set(j, temp);
-      }
+    // Mark each admin as persisted
+    for (Admin a : staff) {
+      a.markClean();
     }
-    // Swap arr[i+1] with arr[high]
-    temp = staff.get(i+1);
-    staff.set(i+1, staff.get(high));
-    staff.set(high, temp);
-    
-    // Return i+1
-    return i+1;
   }
+
+
+
 }
\ No newline at end of file
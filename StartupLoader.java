@@ -0,0 +1,121 @@
+/*
+@file StartupLoader.java
+@author Ronak Patel
+@date 1/24/2024
+@description This class reads the startup files at the same time on a small pool of threads. The students, the admins and the classrooms are read independently. Assignment files are not read at startup; each classroom reads its own when it is first opened. Nothing is linked on the pool: the caller waits for each result and builds the databases on its own thread, so the final state is the same as reading the files one after another.
+
+The pool size is the number of processors, at most -Dmarkbook.loader.threads (default 4). Set -Dmarkbook.parallel=false to read the files one after another.
+*/
+
+// Imports
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// StartupLoader class
+class StartupLoader {
+
+  // Instance variables
+  private ExecutorService pool;
+  private Future<StudentDatabase> students;
+  private Future<ArrayList<String[]>> accounts;
+  private Future<ArrayList<ClassroomRecord>> classrooms;
+
+  // Whether startup files are read in parallel and the most threads used
+  public static final boolean PARALLEL = !"false".equals(System.getProperty("markbook.parallel"));
+  private static final int THREADS = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), Integer.getInteger("markbook.loader.threads", 4)));
+
+  /*
+  Constructor that starts reading the admin, classroom and student files
+  @date 1/24/2024
+  @parameters String, String, String
+  */
+  public StartupLoader(String sFile, String cFile, String stFile) {
+    // Daemon threads so a failed startup never keeps the program alive
+    pool = Executors.newFixedThreadPool(THREADS, r -> {
+      Thread t = new Thread(r, "markbook-loader");
+      t.setDaemon(true);
+      return t;
+    });
+
+    // Start each file
+    students = pool.submit(() -> new StudentDatabase(stFile));
+    accounts = pool.submit(() -> new Keyboard().getAccounts(sFile));
+    classrooms = pool.submit(() -> new Keyboard().getClassroomRecords(cFile));
+  }
+
+  /*
+  This method waits for the student database
+  @name getStudentDatabase
+  @date 1/24/2024
+  @parameters void
+  @returns StudentDatabase
+  */
+  public StudentDatabase getStudentDatabase() {
+    return await(students);
+  }
+
+  /*
+  This method waits for the admin accounts
+  @name getAccounts
+  @date 1/24/2024
+  @parameters void
+  @returns ArrayList<String[]>
+  */
+  public ArrayList<String[]> getAccounts() {
+    return await(accounts);
+  }
+
+  /*
+  This method waits for the classrooms in file order
+  @name getClassrooms
+  @date 1/24/2024
+  @parameters void
+  @returns ArrayList<ClassroomRecord>
+  */
+  public ArrayList<ClassroomRecord> getClassrooms() throws IOException {
+    // Report unreadable classroom files the same way as a serial load
+    try {
+      return await(classrooms);
+    }
+    catch (IllegalStateException e) {
+      if (e.getCause() instanceof IOException) throw (IOException) e.getCause();
+      throw e;
+    }
+  }
+
+  /*
+  This method waits for a result. A task that failed is rethrown on the waiting thread.
+  @name await
+  @date 1/24/2024
+  @parameters Future<T>
+  @returns T
+  */
+  public static <T> T await(Future<T> future) {
+    // Handle interruption and failed tasks
+    try {
+      return future.get();
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while loading", e);
+    }
+    catch (ExecutionException e) {
+      throw new IllegalStateException("Failed to load", e.getCause());
+    }
+  }
+
+  /*
+  This method stops the threads once every result was taken
+  @name shutdown
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  public void shutdown() {
+    pool.shutdown();
+  }
+}
\ No newline at end of file
@@ -2,17 +2,17 @@
 @file Student.java
 @author Ronak Patel
 @date 1/24/2024
-@description This Student class defines a student object that has a name, id, and all assignments assigned to the student.
+@description This Student class defines a student object that has a name, id, and the classrooms the student is in. The student's assignments and grades are kept in the grade matrix of each classroom.
 */
 
 // Imports
-import java.util.ArrayList;
+import java.util.LinkedHashSet;
 
 // Student class
 class Student extends User {
 
   // Instance variables
-  AssignmentDatabase assignments;
+  LinkedHashSet<Classroom> classrooms;
      
   /*
   Constructor that creates a new user object with parameters
@@ -20,7 +20,7 @@ class Student extends User {
   */
   public Student(String firstName, String lastName, String username, String password, long id) {
     super(firstName, lastName, username, password, id);
-  assignments = new AssignmentDatabase();
+    classrooms = new LinkedHashSet<Classroom>();
   }
 
   /*
@@ -32,86 +32,95 @@ class Student extends User {
   */
   public double getCourseGrade(Classroom c) {
     // Variables
-    double total = 0;
-    int count = 0;
-    Assignment a;
+    GradeMatrix grades = c.getGrades();
+    int row = grades.row(getID());
 
-    // Iterate through the classroom's assignments
-    for (Assignment assignment : c.getAssignmentDatabase().getAssignments()) {
-      // Get student's assignment matching classroom assignment id
-      a = getAssignmentDatabase().searchID(assignment.getID());
-      
-      // If assignment is ungraded, skip
-      if (a.getGrade() == -1) continue;
+    // Student is not in the classroom
+    if (row < 0) return -1;
 
-      // Add to counters
-      total += a.getGrade();
-      count++;
-    }
-
-    // If there are no assignments, return -1
-    if (count == 0) return -1;
+    // Return average, or -1 if there are no graded assignments
+    return grades.rowAverage(row);
+  }
 
-    // Return average
-    return total/count;
+  /*
+  This method gets the set of classrooms the student is in
+  @name getClassrooms
+  @date 1/24/2024
+  @parameters void
+  @returns LinkedHashSet<Classroom>
+  */
+  public LinkedHashSet<Classroom> getClassrooms() {
+    return classrooms;
   }
 
   /*
-  This method adds an assignment to the student's list of assignments
-  @name addAssignment
-  @date 1/15/2024
-  @parameters Assignment
+  This method adds a classroom to the set of classrooms for the student
+  @name addClassroom
+  @date 1/24/2024
+  @parameters Classroom
   @returns void
   */
-  public void addAssignment(Assignment a) {
-    // Check if assignment already in list
-    if (searchID(a.getID()) != null) return;
-    
-    assignments.addAssignment(a);
+  public void addClassroom(Classroom classroom) {
+    // Add classroom to classrooms. The set ignores a classroom already in it
+    classrooms.add(classroom);
   }
 
   /*
-  This method gets the assignments arraylist
-  @name getAssignments
-  @date 1/16/2024
-  @parameters void
-  @returns ArrayList<Assignment>
+  This method removes a classroom from the set of classrooms for the student
+  @name deleteClassroom
+  @date 1/24/2024
+  @parameters Classroom
+  @returns void
   */
-  public ArrayList<Assignment> getAssignments() {
-    return assignments.getAssignments();
+  public void deleteClassroom(Classroom classroom) {
+    classrooms.remove(classroom);
   }
 
   /*
-  This method gets the assignmentdatabase
-  @name getAssignmentDatabase
+  This method gets all of the student's assignments across classrooms in order of id. Each one is a view of the student's grade.
+  @name getAssignments
   @date 1/16/2024
   @parameters void
-  @returns AssignmentDatabase
+  @returns IdList<Assignment>
   */
-  public AssignmentDatabase getAssignmentDatabase() {
+  public IdList<Assignment> getAssignments() {
+    // Variables
+    IdList<Assignment> assignments = new IdList<Assignment>(Assignment::getID);
+    GradeMatrix grades;
+    int row;
+
+    // Add each assignment the student has in each classroom once
+    for (Classroom c : classrooms) {
+      grades = c.grades;
+      row = grades.row(getID());
+      for (int k = 0; row >= 0 && k < grades.columns(); k++) {
+        if (Double.isNaN(grades.get(row, k)) || assignments.search(grades.getAssignment(k).getID()) != null) continue;
+        assignments.add(new GradeView(this, grades.getAssignment(k)));
+      }
+    }
     return assignments;
   }
-  
-  /*
-  This method searches for an assignment by id and deletes that assignment
-  @name removeAssignment
-  @date 1/16/2024
-  @parameters int
-  @returns void
-  */
-  public void removeAssignment(int id) {
-    // Call AssignmentDatabase removeAssignment method
-    assignments.removeAssignment(id);
-  }
 
   /*
-  This method searches for an assignment by id and returns that assignment
+  This method searches for an assignment by id and returns a view of the student's grade for it
   @name searchID
   @date 1/16/2024
   @parameters int
   @returns Assignment
   */
   public Assignment searchID(int id) {
-    return assignments.searchID(id);
+    // Variables
+    GradeMatrix grades;
+    int row;
+    int column;
+
+    // Find the first classroom where the student has the assignment
+    for (Classroom c : classrooms) {
+      grades = c.grades;
+      row = grades.row(getID());
+      column = grades.column(id);
+      if (row >= 0 && column >= 0 && !Double.isNaN(grades.get(row, column))) return new GradeView(this, grades.getAssignment(column));
+    }
+    return null;
   }
 }
\ No newline at end of file
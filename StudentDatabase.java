@@ -7,16 +7,21 @@
 
 
 // Imports
-import java.util.ArrayList;
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 
 // StudentDatabase class
 class StudentDatabase {
 
   // Instance variables
-  private ArrayList<Student> students;
+  private IdList<Student> students;
+  private LongIndex<Student> index;
+  private UsernameIndex<Student> usernames;
+  private NameIndex<Student> names;
   String file;
+  private boolean dirty;
+  private IdAllocator ids;
 
   /*
   Constructor with file for for each database
@@ -25,7 +30,11 @@ class StudentDatabase {
   */
   public StudentDatabase(String file) {
     // Instantiate students
-    students = new ArrayList<Student>();
+    students = new IdList<Student>(Student::getID);
+    index = new LongIndex<Student>();
+    usernames = new UsernameIndex<Student>();
+    names = new NameIndex<Student>();
+    ids = new IdAllocator(null, IdAllocator.STUDENTS, 1000000000L, 9999999999L);
     this.file = file;
     
     // Create file
@@ -41,6 +50,9 @@ class StudentDatabase {
 
     // Call populate file to get all information from file
     populate();
+    
+    // Loaded data matches the file
+    markClean();
   }
 
   /*
@@ -51,10 +63,101 @@ class StudentDatabase {
   @returns void
   */
   public void add(Student s) {
+    // Add student in order of id and index it by id, username and names
     students.add(s);
+    index.put(s.getID(), s);
+    usernames.add(s);
+    names.add(s);
+    dirty = true;
+  }
+
+  /*
+  This method deletes a student from the database. The student is removed from each classroom the student is in, along with the student's grades.
+  @name deleteStudent
+  @date 1/24/2024
+  @parameters long
+  @returns void
+  */
+  public void deleteStudent(long id) {
+    // Variables
+    Student s = index.get(id);
+
+    // Student doesn't exist
+    if (s == null) return;
 
-    // Sort students
-    sort(0, students.size()-1);
+    // Remove student from each of the student's classrooms. Removing changes the list, so go over a copy
+    for (Classroom c : new ArrayList<Classroom>(s.getClassrooms())) {
+      c.deleteStudent(s);
+    }
+
+    // Remove student from the database
+    students.remove(s);
+    index.remove(id);
+    usernames.remove(s);
+    names.remove(s);
+    dirty = true;
+  }
+
+  /*
+  This method removes all students from the database
+  @name clear
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  public void clear() {
+    students.clear();
+    index.clear();
+    usernames.clear();
+    names.clear();
+    dirty = true;
+  }
+
+  /*
+  This method checks if the database or any of its students has changed since it was last persisted
+  @name isDirty
+  @date 1/24/2024
+  @parameters void
+  @returns boolean
+  */
+  public boolean isDirty() {
+    // If students were added or removed
+    if (dirty) return true;
+    
+    // If any student was edited
+    for (Student s : students) {
+      if (s.isDirty()) return true;
+    }
+    
+    // Nothing changed
+    return false;
+  }
+
+  /*
+  This method marks the database and all of its students as persisted
+  @name markClean
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  public void markClean() {
+    dirty = false;
+    
+    // Mark each student as persisted
+    for (Student s : students) {
+      s.markClean();
+    }
+  }
+
+  /*
+  This method sets where ids of new students come from
+  @name setIdAllocator
+  @date 1/24/2024
+  @parameters IdAllocator
+  @returns void
+  */
+  public void setIdAllocator(IdAllocator ids) {
+    this.ids = ids;
   }
 
   /*
@@ -77,16 +180,8 @@ class StudentDatabase {
   */
   private boolean isUnique(long id) {
 
-    // Iterate over all students
-    for (Student s : students) {
-      // If id is found, return false
-      if (s.getID() == id) {
-        return false;
-      }
-    }
-
-    // Return unique
-    return true;
+    // Unique if no student has the id
+    return !index.containsKey(id);
   }
 
   /*
@@ -112,13 +207,16 @@ class StudentDatabase {
     firstName = keyboard.getLine("\nEnter first name: ");
     lastName = keyboard.getLine("\nEnter last name: ");
     username = keyboard.getWord("\nEnter username (one word only): ");
+    
+    // Prompt again until the username is not taken
+    while (usernames.contains(username)) {
+      username = keyboard.getWord("\nUsername " + username + " is already taken. Enter username (one word only): ");
+    }
     keyboard.getLine(""); // Skip error
     password = keyboard.getLine("Enter password: ");
 
-    // Generate unique id
-    do {
-      id = (long)(Math.random() * 8999999999.0)+1000000000L;
-    } while (!isUnique(id));
+    // Get next free id
+    id = ids.allocate(i -> !isUnique(i));
     
     // Add student to database
     add(new Student(firstName, lastName, username, password, id));
@@ -144,118 +242,46 @@ class StudentDatabase {
   @name getStudents
   @date 1/12/2024
   @parameters void
-  @returns ArrayList<Student>
+  @returns IdList<Student>
   */
-  public ArrayList<Student> getStudents() {
+  public IdList<Student> getStudents() {
     return students;
   }
 
   /*
-  This method searches for an Student object using id
-  @name searchID
-  @date 1/15/2024
-  @parameters long
+  This method searches for a Student object using username
+  @name searchUsername
+  @date 1/24/2024
+  @parameters String
   @returns Student
   */
-  public Student searchID(long id) {
-    
-    // Variables
-    int left = 0, right = students.size()-1;
-    
-    // Continue until left and right meet
-    while (left <= right) {
-      // Get middle index
-      int mid = (left + right)/2;
-      
-      // If match is found, return the admin object
-      if (students.get(mid).getID() == id) {
-        return students.get(mid);
-      }
-      // If id is greater than mid, search right half
-      else if (students.get(mid).getID() < id) {
-        left = mid + 1;
-      }
-      // If id is less than mid, search left half
-      else {
-        right = mid - 1;
-      }
-    }
-    
-    // Return null if no match is found
-    return null;
+  public Student searchUsername(String username) {
+    return usernames.get(username);
   }
 
-
   /*
-  This function takes sorts the staff arraylist using quick sort.
-  @name sort
-  @date 1/16/2024
-  @parameters int, int
-  @returns void
+  This method finds the students whose first name, last name or username starts with a prefix
+  @name findStudents
+  @date 1/24/2024
+  @parameters String
+  @returns IdList<Student>
   */
-  private void sort(int low, int high) {
-    // Variables
-    if (low < high) {
-      // Get pivot and sort around pivot
-      int pivot = partitionRandomPivot(low, high);
-      sort(low, pivot-1);
-      sort(pivot+1, high);
-    }
+  public IdList<Student> findStudents(String prefix) {
+    return names.find(prefix);
   }
 
   /*
-  This function assigns a random pivot value and quickSort around the pivot. Another function is called to help with this.
-  @name partitionRandomPivot
-  @date 1/16/2024
-  @parameters int, int
-  @returns int
+  This method searches for an Student object using id
+  @name searchID
+  @date 1/15/2024
+  @parameters long
+  @returns Student
   */
-  private int partitionRandomPivot(int low, int high) {
-    // Variables
-    int pivot = (int) (Math.random() * (high - low + 1)) + low;
-    Student temp;
-    
-    // Swap high value with pivot
-    temp = students.get(high);
-    students.set(high, students.get(pivot));
-    students.set(pivot, temp);
-    
-    // Return pivot position
-    return partition(low, high);
+  public Student searchID(long id) {
+    // Look up id in the index
+    return index.get(id);
   }
 
-  /*
-  This function arranges the arraylist values around the pivot.
-  @name partition
-  @date 1/16/2024
-  @parameters int, int
-  @returns int
-  */
-  private int partition(int low, int high) {
-    // Variables
-    long pivot = students.get(high).getID();
-    int i = low - 1;
-    Student temp;
-    
-    // Go through all values in array to arrange them around the pivot
-    for (int j = low; j <= high - 1; j++) {
-      // Check if the j value is less than pivot. If so, swap i value with j value
-      if (students.get(j).getID() < pivot) {
-        // Increment i
-        i++;
-        
-        // Swap values
-        temp = students.get(i);
-        students.set(i, students.get(j));  
-        students.set(j, temp);
-      }
-    }
-    // Swap arr[i+1] with arr[high]
-    temp = students.get(i+1);
-    students.set(i+1, students.get(high));
-    students.set(high, temp);
-    
-    // Return i+1
-    return i+1;
-  }
+
+
 }
\ No newline at end of file
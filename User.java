@@ -17,6 +17,9 @@ class User {
   private String username;
   private String password;
   private long id;
+  private boolean dirty;
+  private UsernameIndex<?> usernames;
+  private NameIndex<?> names;
   private static final int SHIFT = 11;
   
   /*
@@ -32,6 +35,28 @@ class User {
     this.id = id;
   }
 
+  /*
+  This method links the user to the index it is listed in by username
+  @name setUsernameIndex
+  @date 1/24/2024
+  @parameters UsernameIndex<?>
+  @returns void
+  */
+  public void setUsernameIndex(UsernameIndex<?> usernames) {
+    this.usernames = usernames;
+  }
+
+  /*
+  This method links the user to the index it is found in by name
+  @name setNameIndex
+  @date 1/24/2024
+  @parameters NameIndex<?>
+  @returns void
+  */
+  public void setNameIndex(NameIndex<?> names) {
+    this.names = names;
+  }
+
   /*
   This method gets the username
   @name getUsername
@@ -76,6 +101,28 @@ class User {
     return id;
   }
 
+  /*
+  This method checks if the user has changed since it was last persisted
+  @name isDirty
+  @date 1/24/2024
+  @parameters void
+  @returns boolean
+  */
+  public boolean isDirty() {
+    return dirty;
+  }
+
+  /*
+  This method marks the user as persisted
+  @name markClean
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  public void markClean() {
+    dirty = false;
+  }
+
   /*
   This method prompts user to edit first name
   @name editFirstName
@@ -92,7 +139,9 @@ class User {
     newFirstName = keyboard.getWord("Enter new first name:");
     
     // Set new first name
+    if (names != null) names.rename(this, NameIndex.FIRST_NAME, firstName, newFirstName);
     this.firstName = newFirstName;
+    dirty = true;
     
     // Confirmation message
     keyboard.print("\nFirst name changed to " + newFirstName);
@@ -115,7 +164,9 @@ class User {
     newLastName = keyboard.getWord("Enter new last name:");
     
     // Set new first name
+    if (names != null) names.rename(this, NameIndex.LAST_NAME, lastName, newLastName);
     this.lastName = newLastName;
+    dirty = true;
     
     // Confirmation message
     keyboard.print("\nLast name changed to " + newLastName);
@@ -137,8 +188,16 @@ class User {
     // Get new username
     newUsername = keyboard.getWord("Enter new username (one word only):");
     
+    // Keep usernames unique
+    if (usernames != null && !usernames.rename(this, newUsername)) {
+      keyboard.print("\nUsername " + newUsername + " is already taken");
+      return;
+    }
+    
     // Set new username
+    if (names != null) names.rename(this, NameIndex.USERNAME, username, newUsername);
     this.username = newUsername;
+    dirty = true;
     
     // Confirmation message
     keyboard.print("\nUsername changed to " + newUsername);
@@ -162,6 +221,7 @@ class User {
     
     // Set new username
     this.password = newPassword;
+    dirty = true;
     
     // Confirmation message
     keyboard.print("\nPassword changed to " + newPassword);
@@ -0,0 +1,185 @@
+/*
+@file UsernameIndex.java
+@author Ronak Patel
+@date 1/24/2024
+@description This class maps usernames to users so a login is a single hash lookup. Each username can only belong to one user. Files written before the index could have two users with the same username; the later ones are kept as duplicates, so they can still log in and take the username over if its user leaves it. A user in the index keeps a reference to it, so changing the username goes through the index and is rejected if the new username is taken.
+*/
+
+// Imports
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+// UsernameIndex class
+class UsernameIndex<T extends User> {
+
+  // Instance variables
+  private HashMap<String, T> users;
+  private HashMap<String, ArrayList<T>> duplicates;
+
+  /*
+  Constructor that creates an empty index
+  @date 1/24/2024
+  @parameters void
+  */
+  public UsernameIndex() {
+    users = new HashMap<String, T>();
+    duplicates = new HashMap<String, ArrayList<T>>();
+  }
+
+  /*
+  This method adds a user under its username. If the username is taken, the user is kept as a duplicate and false is returned. Either way the user is linked to the index, so its renames are checked.
+  @name add
+  @date 1/24/2024
+  @parameters T
+  @returns boolean
+  */
+  public boolean add(T user) {
+    // Link user to this index
+    user.setUsernameIndex(this);
+
+    // Keep a user with a taken username after the one that has it
+    if (users.containsKey(user.getUsername())) {
+      duplicates.computeIfAbsent(user.getUsername(), k -> new ArrayList<T>()).add(user);
+      return false;
+    }
+
+    // Add user
+    users.put(user.getUsername(), user);
+    return true;
+  }
+
+  /*
+  This method removes a user from the index
+  @name remove
+  @date 1/24/2024
+  @parameters T
+  @returns void
+  */
+  public void remove(T user) {
+    // Variables
+    ArrayList<T> others = duplicates.get(user.getUsername());
+
+    // Remove the entry if it belongs to this user, and give the username to the next duplicate
+    if (users.get(user.getUsername()) == user) {
+      users.remove(user.getUsername());
+      promote(user.getUsername());
+      user.setUsernameIndex(null);
+    }
+    // Remove a duplicate
+    else if (others != null && others.remove(user)) {
+      if (others.isEmpty()) duplicates.remove(user.getUsername());
+      user.setUsernameIndex(null);
+    }
+  }
+
+  /*
+  This method moves a user to a new username. If the new username belongs to another user, nothing changes and false is returned. A duplicate that moves to a free username stops being a duplicate.
+  @name rename
+  @date 1/24/2024
+  @parameters User, String
+  @returns boolean
+  */
+  public boolean rename(User user, String username) {
+    // Variables
+    T entry = users.get(user.getUsername());
+    ArrayList<T> others = duplicates.get(user.getUsername());
+    int i = others == null ? -1 : others.indexOf(user);
+
+    // Keeping the same username always works
+    if (username.equals(user.getUsername())) return true;
+
+    // Reject a username taken by someone else, or a user that is not in the index
+    if (users.containsKey(username) || (entry != user && i < 0)) return false;
+
+    // Move entry, giving the old username to the next duplicate
+    if (entry == user) {
+      users.remove(user.getUsername());
+      promote(user.getUsername());
+    }
+    // Move duplicate
+    else {
+      entry = others.remove(i);
+      if (others.isEmpty()) duplicates.remove(user.getUsername());
+    }
+    users.put(username, entry);
+    return true;
+  }
+
+  /*
+  This method gets the user with a username, or null if there is none
+  @name get
+  @date 1/24/2024
+  @parameters String
+  @returns T
+  */
+  public T get(String username) {
+    return users.get(username);
+  }
+
+  /*
+  This method gets the users kept as duplicates of a username, in the order they were added
+  @name getDuplicates
+  @date 1/24/2024
+  @parameters String
+  @returns List<T>
+  */
+  public List<T> getDuplicates(String username) {
+    // Variables
+    ArrayList<T> others = duplicates.get(username);
+
+    return others == null ? Collections.<T>emptyList() : others;
+  }
+
+  /*
+  This method checks if a username is taken
+  @name contains
+  @date 1/24/2024
+  @parameters String
+  @returns boolean
+  */
+  public boolean contains(String username) {
+    return users.containsKey(username);
+  }
+
+  /*
+  This method removes every user
+  @name clear
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  public void clear() {
+    // Unlink each user
+    for (T user : users.values()) {
+      user.setUsernameIndex(null);
+    }
+    for (ArrayList<T> others : duplicates.values()) {
+      for (T user : others) {
+        user.setUsernameIndex(null);
+      }
+    }
+    users.clear();
+    duplicates.clear();
+  }
+
+  /*
+  This method gives a username that was left to the first duplicate of it, if there is one
+  @name promote
+  @date 1/24/2024
+  @parameters String
+  @returns void
+  */
+  private void promote(String username) {
+    // Variables
+    ArrayList<T> others = duplicates.get(username);
+
+    // No user is waiting for the username
+    if (others == null) return;
+
+    // Move first duplicate
+    users.put(username, others.remove(0));
+    if (others.isEmpty()) duplicates.remove(username);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,149 @@
+/*
+@file IdListBenchmark.java
+@author Ronak Patel
+@date 1/24/2024
+@description This program compares adding students to an ArrayList that is quick sorted after every insert, which is how the databases kept their order before, with adding them to an IdList. Lookups by id are timed for both. Sorting after every insert is quadratic, so by default it is only run for the first students and its total is estimated from its cost per insert at that size.
+
+Usage: java IdListBenchmark [students] [students for the sorted ArrayList]
+*/
+
+// Imports
+import java.util.ArrayList;
+import java.util.Random;
+
+// IdListBenchmark class
+class IdListBenchmark {
+  public static void main(String[] args) {
+
+    // Variables
+    Keyboard keyboard = new Keyboard();
+    int n = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+    int m = Math.min(n, args.length > 1 ? Integer.parseInt(args[1]) : 10000);
+    Student[] students = new Student[n];
+    ArrayList<Student> sorted = new ArrayList<Student>();
+    IdList<Student> list = new IdList<Student>(Student::getID);
+    Random random = new Random(42);
+    long start, before, after, found = 0;
+
+    // Create students with random 10 digit ids in random order
+    for (int i = 0; i < n; i++) {
+      students[i] = new Student("First" + i, "Last" + i, "user" + i, "password", 1000000000L + (long) (random.nextDouble() * 8999999999.0));
+    }
+
+    // Before: add to the ArrayList and quick sort after every insert
+    start = System.nanoTime();
+    for (int i = 0; i < m; i++) {
+      sorted.add(students[i]);
+      sort(sorted, 0, sorted.size()-1);
+    }
+    before = System.nanoTime() - start;
+
+    // After: add to the IdList
+    start = System.nanoTime();
+    for (int i = 0; i < n; i++) {
+      list.add(students[i]);
+    }
+    after = System.nanoTime() - start;
+
+    // Print insert times. Sorting after each insert grows with m squared, so the total for n is estimated
+    keyboard.print("Sorted ArrayList, " + m + " inserts: " + before / 1000 / 1000.0 + " ms");
+    if (m < n) keyboard.print("Sorted ArrayList, " + n + " inserts (estimated): " + (long) (before / 1000 / 1000.0 * ((double) n / m) * ((double) n / m)) + " ms");
+    keyboard.print("IdList, " + n + " inserts: " + after / 1000 / 1000.0 + " ms");
+
+    // Check the IdList iterates in id order, and agrees with the ArrayList on its students
+    long last = Long.MIN_VALUE;
+    for (Student s : list) {
+      if (s.getID() < last) keyboard.print("IdList out of order at id " + s.getID());
+      last = s.getID();
+    }
+    for (int i = 0; i < m; i++) {
+      if (list.search(sorted.get(i).getID()) == null) keyboard.print("IdList is missing id " + sorted.get(i).getID());
+    }
+
+    // Time lookups of every id with a binary search over the ArrayList
+    start = System.nanoTime();
+    for (int i = 0; i < m; i++) {
+      if (binarySearch(sorted, students[i].getID()) != null) found++;
+    }
+    keyboard.print("Sorted ArrayList, " + m + " lookups: " + (System.nanoTime() - start) / 1000 / 1000.0 + " ms");
+
+    // Time lookups of every id in the IdList
+    start = System.nanoTime();
+    for (int i = 0; i < n; i++) {
+      if (list.search(students[i].getID()) != null) found++;
+    }
+    keyboard.print("IdList, " + n + " lookups: " + (System.nanoTime() - start) / 1000 / 1000.0 + " ms");
+    keyboard.print("Found " + found + " of " + (m + n) + " ids");
+  }
+
+  /*
+  This method searches a sorted ArrayList for a student by id, as searchID did before
+  @name binarySearch
+  @date 1/24/2024
+  @parameters ArrayList<Student>, long
+  @returns Student
+  */
+  private static Student binarySearch(ArrayList<Student> students, long id) {
+    // Variables
+    int left = 0, right = students.size()-1;
+
+    // Continue until left and right meet
+    while (left <= right) {
+      int mid = (left + right)/2;
+      if (students.get(mid).getID() == id) return students.get(mid);
+      else if (students.get(mid).getID() < id) left = mid + 1;
+      else right = mid - 1;
+    }
+    return null;
+  }
+
+  /*
+  This function sorts the students arraylist using quick sort, as the databases did after every insert
+  @name sort
+  @date 1/24/2024
+  @parameters ArrayList<Student>, int, int
+  @returns void
+  */
+  private static void sort(ArrayList<Student> students, int low, int high) {
+    if (low < high) {
+      // Swap a random pivot to the end
+      int pivot = (int) (Math.random() * (high - low + 1)) + low;
+      Student temp = students.get(high);
+      students.set(high, students.get(pivot));
+      students.set(pivot, temp);
+
+      // Partition around the pivot and sort both sides
+      pivot = partition(students, low, high);
+      sort(students, low, pivot-1);
+      sort(students, pivot+1, high);
+    }
+  }
+
+  /*
+  This function arranges the arraylist values around the pivot at the end
+  @name partition
+  @date 1/24/2024
+  @parameters ArrayList<Student>, int, int
+  @returns int
+  */
+  private static int partition(ArrayList<Student> students, int low, int high) {
+    // Variables
+    long pivot = students.get(high).getID();
+    int i = low - 1;
+    Student temp;
+
+    // Move smaller ids before the pivot
+    for (int j = low; j <= high - 1; j++) {
+      if (students.get(j).getID() < pivot) {
+        i++;
+        temp = students.get(i);
+        students.set(i, students.get(j));
+        students.set(j, temp);
+      }
+    }
+    temp = students.get(i+1);
+    students.set(i+1, students.get(high));
+    students.set(high, temp);
+    return i+1;
+  }
+}
\ No newline at end of file
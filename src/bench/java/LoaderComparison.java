@@ -0,0 +1,89 @@
+/*
+@file LoaderComparison.java
+@author Ronak Patel
+@date 1/24/2024
+@description This program compares reading classrooms.txt through a BufferedReader with reading it through a memory-mapped file. Each reader is timed, and the classrooms they read are checked to be the same. The file is only read: no database is built, so the manifest is not recovered and the journal is not replayed, and it is safe to run next to live data.
+
+Usage: java LoaderComparison [classroom file] [rounds]
+*/
+
+// Imports
+import java.io.IOException;
+import java.util.zip.CRC32;
+
+// LoaderComparison class
+class LoaderComparison {
+  public static void main(String[] args) throws IOException {
+
+    // Variables
+    Keyboard keyboard = new Keyboard();
+    String file = args.length > 0 ? args[0] : "classrooms.txt";
+    int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+    String[] loaders = {"buffered", "mapped"};
+    long[] best = new long[loaders.length];
+    long[] checksums = new long[loaders.length];
+    long start;
+    long nanos;
+
+    // Read the file with each reader several times and keep the best time
+    for (int r = 0; r < rounds; r++) {
+      for (int i = 0; i < loaders.length; i++) {
+        start = System.nanoTime();
+        checksums[i] = read(file, loaders[i]);
+        nanos = System.nanoTime() - start;
+        if (r == 0 || nanos < best[i]) best[i] = nanos;
+      }
+    }
+
+    // Print results
+    for (int i = 0; i < loaders.length; i++) {
+      keyboard.print(loaders[i] + ": " + best[i] / 1000 / 1000.0 + " ms");
+    }
+    keyboard.print(checksums[0] == checksums[1] ? "Both loaders read the same classrooms" : "Loaders read different classrooms");
+  }
+
+  /*
+  This method reads every classroom in a file with one of the readers and returns a checksum of what was read
+  @name read
+  @date 1/24/2024
+  @parameters String, String
+  @returns long
+  */
+  private static long read(String file, String loader) throws IOException {
+    // Variables
+    CRC32 crc = new CRC32();
+    StringBuilder sb = new StringBuilder();
+    LineReader lr;
+    ClassroomRecord r;
+    int n;
+
+    // Open the file with the reader
+    lr = "buffered".equals(loader) ? new BufferedLineReader(file) : new MappedLineReader(file);
+    try {
+      // Add each classroom in file order
+      n = lr.nextInt();
+      for (int i = 0; i < n; i++) {
+        r = ClassroomRecord.read(lr);
+        sb.setLength(0);
+        sb.append(r.name).append('\n').append(r.id).append('\n');
+        for (long admin : r.admins) {
+          sb.append(admin).append('\n');
+        }
+        for (int j = 0; j < r.students.length; j++) {
+          sb.append(r.students[j]).append('\n');
+          for (Assignment a : r.assignments[j]) {
+            sb.append(a.getName()).append('\n').append(a.getID()).append('\n').append(a.getGrade()).append('\n');
+          }
+        }
+        crc.update(sb.toString().getBytes());
+      }
+    }
+    // Close the file even if it could not be read
+    finally {
+      lr.close();
+    }
+
+    // Return checksum
+    return crc.getValue();
+  }
+}
\ No newline at end of file
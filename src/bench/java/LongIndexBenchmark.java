@@ -0,0 +1,103 @@
+/*
+@file LongIndexBenchmark.java
+@author Ronak Patel
+@date 1/24/2024
+@description This program times looking up students by id in an IdList and in a LongIndex, and reports the bytes the current thread allocated during each set of lookups. lookup is the measured path; it can be called from a JMH benchmark as is.
+
+Usage: java LongIndexBenchmark [students] [rounds]
+*/
+
+// Imports
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+// LongIndexBenchmark class
+class LongIndexBenchmark {
+  public static void main(String[] args) {
+
+    // Variables
+    Keyboard keyboard = new Keyboard();
+    int n = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+    int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+    IdList<Student> list = new IdList<Student>(Student::getID);
+    LongIndex<Student> index = new LongIndex<Student>(n);
+    long[] ids = new long[n];
+    Random random = new Random(42);
+    long start, bytes, found, overhead;
+    long[] best = {Long.MAX_VALUE, Long.MAX_VALUE};
+    long[] allocated = new long[2];
+
+    // Create students with random 10 digit ids
+    for (int i = 0; i < n; i++) {
+      Student s = new Student("First" + i, "Last" + i, "user" + i, "password", 1000000000L + (long) (random.nextDouble() * 8999999999.0));
+      ids[i] = s.getID();
+      list.add(s);
+      index.put(s.getID(), s);
+    }
+
+    // Bytes allocated by measuring itself
+    bytes = allocatedBytes();
+    start = System.nanoTime();
+    overhead = allocatedBytes() - bytes;
+
+    // Look up every id several times and keep the best time
+    for (int r = 0; r < rounds; r++) {
+      // Ordered list
+      bytes = allocatedBytes();
+      start = System.nanoTime();
+      found = 0;
+      for (long id : ids) {
+        if (list.search(id) != null) found++;
+      }
+      best[0] = Math.min(best[0], System.nanoTime() - start);
+      allocated[0] = allocatedBytes() - bytes - overhead;
+
+      // Index
+      bytes = allocatedBytes();
+      start = System.nanoTime();
+      found += lookup(index, ids);
+      best[1] = Math.min(best[1], System.nanoTime() - start);
+      allocated[1] = allocatedBytes() - bytes - overhead;
+
+      // Every id must be found by both
+      if (found != 2L * n) keyboard.print("Lookups missed ids");
+    }
+
+    // Print results
+    keyboard.print("IdList, " + n + " lookups: " + best[0] / 1000 / 1000.0 + " ms, " + allocated[0] + " bytes allocated");
+    keyboard.print("LongIndex, " + n + " lookups: " + best[1] / 1000 / 1000.0 + " ms, " + allocated[1] + " bytes allocated");
+  }
+
+  /*
+  This method looks up every id in the index and counts the ids found
+  @name lookup
+  @date 1/24/2024
+  @parameters LongIndex<Student>, long[]
+  @returns long
+  */
+  public static long lookup(LongIndex<Student> index, long[] ids) {
+    // Variables
+    long found = 0;
+
+    // Look up each id
+    for (long id : ids) {
+      if (index.get(id) != null) found++;
+    }
+    return found;
+  }
+
+  /*
+  This method gets the bytes allocated by the current thread so far, or 0 if the JVM can't tell
+  @name allocatedBytes
+  @date 1/24/2024
+  @parameters void
+  @returns long
+  */
+  private static long allocatedBytes() {
+    // Only HotSpot based JVMs count allocations per thread
+    if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+      return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+    return 0;
+  }
+}
\ No newline at end of file
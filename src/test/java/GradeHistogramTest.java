@@ -0,0 +1,144 @@
+/*
+@file GradeHistogramTest.java
+@author Ronak Patel
+@date 1/24/2024
+@description This class tests the GradeHistogram. Counts and quantiles are checked against the grades sorted, to within the one percent width of a bucket.
+*/
+
+// Imports
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+import org.junit.Test;
+
+// GradeHistogramTest class
+public class GradeHistogramTest {
+
+  /*
+  This method checks counting whole number bands, and grades outside of 0 to 100
+  @name countsBands
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  @Test
+  public void countsBands() {
+    // Variables
+    GradeHistogram h = new GradeHistogram();
+
+    for (double grade : new double[] {-5, 0, 49.9, 50, 79.5, 80, 99.99, 100, 120}) {
+      h.add(grade);
+    }
+
+    assertEquals(9, h.size());
+    assertEquals(1, h.count(-10, 0));
+    assertEquals(2, h.count(0, 50));
+    assertEquals(2, h.count(50, 80));
+    assertEquals(2, h.count(80, 100));
+    assertEquals(4, h.count(80, 101));
+    assertEquals(8, h.count(0, 1000));
+
+    // Removing a grade takes it out of its band
+    h.remove(79.5);
+    assertEquals(1, h.count(50, 80));
+    assertEquals(8, h.size());
+  }
+
+  /*
+  This method checks the quantiles of an empty histogram and of grades at the ends
+  @name quantileEnds
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  @Test
+  public void quantileEnds() {
+    // Variables
+    GradeHistogram h = new GradeHistogram();
+
+    assertEquals(-1, h.quantile(0.5), 0);
+    h.add(-3);
+    assertEquals(0, h.quantile(0.5), 0);
+    h.add(150);
+    h.add(150);
+    assertEquals(100, h.quantile(1), 0);
+    h.clear();
+    assertEquals(0, h.size());
+    assertEquals(-1, h.quantile(0.5), 0);
+  }
+
+  /*
+  This method checks that a merged histogram counts the grades of both
+  @name mergesCounts
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  @Test
+  public void mergesCounts() {
+    // Variables
+    GradeHistogram a = new GradeHistogram();
+    GradeHistogram b = new GradeHistogram();
+    GradeHistogram both = new GradeHistogram();
+    Random random = new Random(7);
+
+    for (int i = 0; i < 1000; i++) {
+      double grade = random.nextDouble() * 110 - 5;
+      (i % 3 == 0 ? a : b).add(grade);
+      both.add(grade);
+    }
+    a.merge(b);
+
+    assertEquals(both.size(), a.size());
+    for (int k = -1; k <= 100; k++) {
+      assertEquals(both.count(k, k + 1), a.count(k, k + 1));
+    }
+    assertEquals(both.quantile(0.5), a.quantile(0.5), 0);
+  }
+
+  /*
+  This method checks random adds and removes against the grades sorted
+  @name matchesSortedGrades
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  @Test
+  public void matchesSortedGrades() {
+    // Variables
+    GradeHistogram h = new GradeHistogram();
+    ArrayList<Double> grades = new ArrayList<Double>();
+    Random random = new Random(42);
+
+    for (int step = 0; step < 5000; step++) {
+      // Add more often than remove
+      if (grades.isEmpty() || random.nextInt(3) > 0) {
+        double grade = Math.round(random.nextDouble() * 10000) / 100.0;
+        h.add(grade);
+        grades.add(grade);
+      }
+      else {
+        h.remove(grades.remove(random.nextInt(grades.size())));
+      }
+
+      // Compare bands and quantiles now and then
+      if (step % 250 == 0) {
+        ArrayList<Double> sorted = new ArrayList<Double>(grades);
+        Collections.sort(sorted);
+        assertEquals(sorted.size(), h.size());
+        for (int low = 0; low < 100; low += 10) {
+          int n = 0;
+          for (double g : sorted) if (g >= low && g < low + 10) n++;
+          assertEquals(n, h.count(low, low + 10));
+        }
+        for (double fraction : new double[] {0.1, 0.25, 0.5, 0.75, 0.9, 1}) {
+          double exact = sorted.get((int) Math.max(1, Math.ceil(fraction * sorted.size())) - 1);
+          assertTrue(fraction + ": " + h.quantile(fraction) + " vs " + exact, Math.abs(h.quantile(fraction) - exact) <= 1);
+        }
+      }
+    }
+  }
+}
\ No newline at end of file
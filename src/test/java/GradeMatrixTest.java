@@ -0,0 +1,181 @@
+/*
+@file GradeMatrixTest.java
+@author Ronak Patel
+@date 1/24/2024
+@description This class tests that the sums, histograms, ungraded bitmaps and ranking of a GradeMatrix stay the same as when they are counted from the grades, while rows and columns are added and removed and grades are set. Grades are whole numbers so sums are exact.
+*/
+
+// Imports
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Random;
+import org.junit.Test;
+
+// GradeMatrixTest class
+public class GradeMatrixTest {
+
+  // Instance variables
+  private Random random = new Random(42);
+
+  /*
+  This method checks random changes against the grades counted again after each one
+  @name matchesCountedGrades
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  @Test
+  public void matchesCountedGrades() {
+    // Variables
+    GradeMatrix m = new GradeMatrix();
+    int nextID = 0;
+
+    // The ranking is kept up to date once it has been asked for
+    m.ranking();
+
+    for (int step = 0; step < 4000; step++) {
+      int op = random.nextInt(20);
+
+      if (op < 4) {
+        m.addRow(1000 + random.nextInt(400), grade());
+      }
+      else if (op < 6 && m.rows() > 0) {
+        m.removeRow(m.getStudentID(random.nextInt(m.rows())));
+      }
+      else if (op < 7 && m.columns() < 12) {
+        m.addColumn(new Assignment("A" + nextID, nextID++), grade());
+      }
+      else if (op < 8 && m.columns() > 0) {
+        m.removeColumn(m.getAssignment(random.nextInt(m.columns())).getID());
+      }
+      else if (m.rows() > 0 && m.columns() > 0) {
+        m.set(random.nextInt(m.rows()), random.nextInt(m.columns()), grade());
+      }
+      check(m);
+    }
+  }
+
+  /*
+  This method checks removing rows on both sides of a bitmap word boundary
+  @name removesRowsAcrossWords
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  @Test
+  public void removesRowsAcrossWords() {
+    // Variables
+    GradeMatrix m = new GradeMatrix();
+
+    m.addColumn(new Assignment("A", 1), GradeMatrix.UNGRADED);
+    for (int r = 0; r < 200; r++) {
+      m.addRow(r, r % 3 == 0 ? GradeMatrix.UNGRADED : 50);
+    }
+    for (long student : new long[] {63, 64, 0, 127, 199, 128, 62}) {
+      m.removeRow(student);
+      check(m);
+    }
+  }
+
+  /*
+  This method picks a random grade, ungraded or absent cell
+  @name grade
+  @date 1/24/2024
+  @parameters void
+  @returns double
+  */
+  private double grade() {
+    // Variables
+    int k = random.nextInt(10);
+
+    if (k == 0) return GradeMatrix.UNGRADED;
+    if (k == 1) return GradeMatrix.ABSENT;
+    return random.nextInt(101);
+  }
+
+  /*
+  This method counts everything from the grades and compares it with what the matrix kept
+  @name check
+  @date 1/24/2024
+  @parameters GradeMatrix
+  @returns void
+  */
+  private static void check(GradeMatrix m) {
+    // Variables
+    GradeHistogram rows = new GradeHistogram();
+    ArrayList<long[]> ranked = new ArrayList<long[]>();
+    ArrayList<Double> averages = new ArrayList<Double>();
+    double total = 0;
+
+    // Rows
+    for (int r = 0; r < m.rows(); r++) {
+      double sum = 0;
+      int count = 0;
+      for (int c = 0; c < m.columns(); c++) {
+        double g = m.get(r, c);
+        if (g != GradeMatrix.UNGRADED && !Double.isNaN(g)) {
+          sum += g;
+          count++;
+        }
+      }
+      double average = count == 0 ? -1 : sum / count;
+      assertEquals(average, m.rowAverage(r), 0);
+      total += average;
+      if (count > 0) {
+        rows.add(average);
+        ranked.add(new long[] {m.getStudentID(r)});
+        averages.add(average);
+      }
+    }
+    assertHistogram(rows, m.rowHistogram());
+    if (m.rows() > 0) assertEquals(total / m.rows(), m.average(), 1e-9);
+
+    // Columns
+    for (int c = 0; c < m.columns(); c++) {
+      GradeHistogram column = new GradeHistogram();
+      double sum = 0;
+      int next = 0;
+      for (int r = 0; r < m.rows(); r++) {
+        double g = m.get(r, c);
+        if (g == GradeMatrix.UNGRADED) {
+          assertEquals(r, m.nextUngraded(c, next));
+          next = r + 1;
+        }
+        if (g != GradeMatrix.UNGRADED && !Double.isNaN(g)) {
+          sum += g;
+          column.add(g);
+        }
+      }
+      assertEquals(-1, m.nextUngraded(c, next));
+      assertEquals(column.size() == 0 ? -1 : sum / column.size(), m.columnAverage(c), 0);
+      assertHistogram(column, m.columnHistogram(c));
+    }
+
+    // Ranking, highest average first and ties by id
+    assertEquals(ranked.size(), m.ranking().size());
+    for (int i = 0; i < ranked.size(); i++) {
+      int above = 0;
+      for (int j = 0; j < ranked.size(); j++) {
+        double a = averages.get(j), b = averages.get(i);
+        if (a > b || a == b && ranked.get(j)[0] < ranked.get(i)[0]) above++;
+      }
+      assertEquals(ranked.get(i)[0], m.ranking().get(above));
+      assertEquals(averages.get(i), m.ranking().getGrade(above), 0);
+    }
+  }
+
+  /*
+  This method compares two histograms bucket by bucket
+  @name assertHistogram
+  @date 1/24/2024
+  @parameters GradeHistogram, GradeHistogram
+  @returns void
+  */
+  private static void assertHistogram(GradeHistogram expected, GradeHistogram actual) {
+    assertEquals(expected.size(), actual.size());
+    for (int k = -1; k <= 100; k++) {
+      assertEquals(expected.count(k, k + 1), actual.count(k, k + 1));
+    }
+  }
+}
\ No newline at end of file
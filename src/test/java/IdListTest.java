@@ -0,0 +1,288 @@
+/*
+@file IdListTest.java
+@author Ronak Patel
+@date 1/24/2024
+@description This class tests the IdList. Random operations are checked against an ArrayList kept in id order by inserting each element after the last one with a smaller or equal id.
+*/
+
+// Imports
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import org.junit.Test;
+
+// IdListTest class
+public class IdListTest {
+
+  // Element with an id. Elements with the same id are still different elements
+  private static class Item {
+    long id;
+
+    Item(long id) {
+      this.id = id;
+    }
+  }
+
+  /*
+  This method checks that elements are kept in id order whatever order they were added in, and that equal ids keep the order they were added in
+  @name keepsIdOrder
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  @Test
+  public void keepsIdOrder() {
+    // Variables
+    IdList<Item> list = new IdList<Item>(i -> i.id);
+    Item first = new Item(5);
+    Item second = new Item(5);
+
+    list.add(new Item(9));
+    list.add(first);
+    list.add(new Item(1));
+    list.add(second);
+    list.add(new Item(7));
+
+    assertEquals(5, list.size());
+    assertEquals(1, list.get(0).id);
+    assertSame(first, list.get(1));
+    assertSame(second, list.get(2));
+    assertEquals(7, list.get(3).id);
+    assertEquals(9, list.get(4).id);
+  }
+
+  /*
+  This method checks searching and ranking by id, including ids that are not in the list
+  @name searchesAndRanks
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  @Test
+  public void searchesAndRanks() {
+    // Variables
+    IdList<Item> list = new IdList<Item>(i -> i.id);
+    Item first = new Item(20);
+
+    list.add(new Item(10));
+    list.add(first);
+    list.add(new Item(20));
+    list.add(new Item(30));
+
+    assertSame(first, list.search(20));
+    assertNull(list.search(15));
+    assertEquals(0, list.rank(5));
+    assertEquals(1, list.rank(20));
+    assertEquals(3, list.rank(25));
+    assertEquals(4, list.rank(99));
+    assertEquals(1, list.indexOf(first));
+    assertEquals(-1, list.indexOf(new Item(20)));
+    assertEquals(-1, list.indexOf("not an item"));
+    assertFalse(list.contains(null));
+  }
+
+  /*
+  This method checks removing by index and by element
+  @name removes
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  @Test
+  public void removes() {
+    // Variables
+    IdList<Item> list = new IdList<Item>(i -> i.id);
+    Item middle = new Item(2);
+
+    list.add(new Item(1));
+    list.add(middle);
+    list.add(new Item(3));
+
+    assertTrue(list.remove(middle));
+    assertFalse(list.remove(middle));
+    assertEquals(2, list.size());
+    assertEquals(3, list.remove(1).id);
+    assertEquals(1, list.get(0).id);
+    list.clear();
+    assertTrue(list.isEmpty());
+  }
+
+  /*
+  This method checks that an index outside the list is rejected
+  @name rejectsBadIndex
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void rejectsBadIndex() {
+    // Variables
+    IdList<Item> list = new IdList<Item>(i -> i.id);
+
+    list.add(new Item(1));
+    list.get(1);
+  }
+
+  /*
+  This method checks that the iterator visits the elements in order, can remove the element it returned, and fails once the list is changed behind it
+  @name iterates
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  @Test
+  public void iterates() {
+    // Variables
+    IdList<Item> list = new IdList<Item>(i -> i.id);
+    Iterator<Item> it;
+    long last = -1;
+
+    for (int i = 0; i < 100; i++) {
+      list.add(new Item((i * 37) % 100));
+    }
+
+    // Remove every even id while iterating
+    it = list.iterator();
+    while (it.hasNext()) {
+      Item item = it.next();
+      assertTrue(item.id > last);
+      last = item.id;
+      if (item.id % 2 == 0) it.remove();
+    }
+    assertEquals(50, list.size());
+    for (int i = 0; i < list.size(); i++) {
+      assertEquals(2 * i + 1, list.get(i).id);
+    }
+
+    // Removing twice is not allowed
+    it = list.iterator();
+    it.next();
+    it.remove();
+    try {
+      it.remove();
+      fail();
+    }
+    catch (IllegalStateException e) {
+      // Expected
+    }
+
+    // A change made outside the iterator is noticed
+    it = list.iterator();
+    it.next();
+    list.add(new Item(0));
+    try {
+      it.next();
+      fail();
+    }
+    catch (ConcurrentModificationException e) {
+      // Expected
+    }
+
+    // Nothing after the end
+    it = new IdList<Item>(i -> i.id).iterator();
+    assertFalse(it.hasNext());
+    try {
+      it.next();
+      fail();
+    }
+    catch (NoSuchElementException e) {
+      // Expected
+    }
+  }
+
+  /*
+  This method checks random adds, removes and lookups against a sorted ArrayList
+  @name matchesSortedList
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  @Test
+  public void matchesSortedList() {
+    // Variables
+    IdList<Item> list = new IdList<Item>(i -> i.id);
+    ArrayList<Item> expected = new ArrayList<Item>();
+    Random random = new Random(42);
+    Iterator<Item> it;
+
+    for (int step = 0; step < 20000; step++) {
+      int op = random.nextInt(10);
+      long key = random.nextInt(500);
+
+      // Add after the last element with a smaller or equal id
+      if (op < 5 || expected.isEmpty()) {
+        Item item = new Item(key);
+        list.add(item);
+        expected.add(upper(expected, key), item);
+      }
+      // Remove by index
+      else if (op < 7) {
+        int index = random.nextInt(expected.size());
+        assertSame(expected.remove(index), list.remove(index));
+      }
+      // Remove by element
+      else if (op < 8) {
+        Item item = expected.get(random.nextInt(expected.size()));
+        assertTrue(list.remove(item));
+        expected.remove(item);
+      }
+      // Look up by id
+      else {
+        int rank = lower(expected, key);
+        assertEquals(rank, list.rank(key));
+        assertSame(rank < expected.size() && expected.get(rank).id == key ? expected.get(rank) : null, list.search(key));
+      }
+
+      // Compare every element now and then
+      if (step % 1000 == 0) {
+        assertEquals(expected.size(), list.size());
+        it = list.iterator();
+        for (int i = 0; i < expected.size(); i++) {
+          assertSame(expected.get(i), list.get(i));
+          assertSame(expected.get(i), it.next());
+          assertEquals(i, list.indexOf(expected.get(i)));
+        }
+        assertFalse(it.hasNext());
+      }
+    }
+  }
+
+  /*
+  This method counts the elements of a sorted list with an id less than a key
+  @name lower
+  @date 1/24/2024
+  @parameters ArrayList<Item>, long
+  @returns int
+  */
+  private static int lower(ArrayList<Item> sorted, long key) {
+    // Variables
+    int i = 0;
+
+    while (i < sorted.size() && sorted.get(i).id < key) i++;
+    return i;
+  }
+
+  /*
+  This method counts the elements of a sorted list with an id less than or equal to a key
+  @name upper
+  @date 1/24/2024
+  @parameters ArrayList<Item>, long
+  @returns int
+  */
+  private static int upper(ArrayList<Item> sorted, long key) {
+    // Variables
+    int i = lower(sorted, key);
+
+    while (i < sorted.size() && sorted.get(i).id == key) i++;
+    return i;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,183 @@
+/*
+@file JournalTest.java
+@author Ronak Patel
+@date 1/24/2024
+@description This class tests writing the journal and the checks replay makes before applying any record. Replaying records into classrooms needs a StaffDatabase, which recovers the manifest in the working directory, so it is not done here.
+*/
+
+// Imports
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+// JournalTest class
+public class JournalTest {
+
+  // Folder for the files of each test
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  // Instance variables
+  private String manifestFile;
+  private String checkpointFile;
+  private String journalFile;
+
+  /*
+  This method names the files of a test inside its folder
+  @name setUp
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  @Before
+  public void setUp() {
+    manifestFile = new File(folder.getRoot(), "markbook.manifest").getPath();
+    checkpointFile = new File(folder.getRoot(), "classrooms.txt").getPath();
+    journalFile = checkpointFile + ".journal";
+  }
+
+  /*
+  This method checks that a new journal starts with the current generation and that each record is on its own line
+  @name startsWithGeneration
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  @Test
+  public void startsWithGeneration() throws IOException {
+    // Variables
+    Manifest manifest = commit(3);
+    Journal journal = new Journal(journalFile, checkpointFile, manifest);
+
+    assertTrue(journal.gradeSet(100000, 1234567890L, 10000000, 87.5));
+    assertTrue(journal.assignmentCreated(100000, 10000001, "Unit Test 2"));
+    journal.write(Arrays.asList("ENROLL 100000 1234567891", "ADMIN 100000 1000000000"));
+
+    assertEquals(Arrays.asList("3", "GRADE 100000 1234567890 10000000 87.5", "CREATE 100000 10000001 Unit Test 2", "ENROLL 100000 1234567891", "ADMIN 100000 1000000000"), lines());
+    assertEquals(2, journal.size());
+  }
+
+  /*
+  This method checks that a checkpoint is asked for once enough records were written or when it is requested, and that reset clears the journal
+  @name checkpoints
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  @Test
+  public void checkpoints() throws IOException {
+    // Variables
+    Journal journal = new Journal(journalFile, checkpointFile, new Manifest(manifestFile));
+
+    // Nothing to checkpoint yet
+    journal.requestCheckpoint();
+    assertFalse(journal.needsCheckpoint());
+
+    journal.assignmentRemoved(100000, 10000000);
+    assertTrue(journal.needsCheckpoint());
+
+    journal.reset();
+    assertFalse(journal.needsCheckpoint());
+    assertEquals(0, journal.size());
+    assertFalse(new File(journalFile).exists());
+
+    // The next record starts a new journal
+    journal.studentEnrolled(100000, 1234567890L);
+    assertEquals(Arrays.asList("0", "ENROLL 100000 1234567890"), lines());
+  }
+
+  /*
+  This method checks that a journal started before the last checkpoint of classrooms.txt is deleted instead of replayed
+  @name skipsCheckpointedJournal
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  @Test
+  public void skipsCheckpointedJournal() throws IOException {
+    // Variables
+    Journal journal;
+
+    // The journal was started in generation 1 and classrooms.txt was written in generation 2
+    write(journalFile, "1\nGRADE 100000 1234567890 10000000 87.5\n");
+    journal = new Journal(journalFile, checkpointFile, commit(2));
+
+    // No record is applied, so there is no database to apply it to
+    journal.replay(null);
+
+    assertFalse(new File(journalFile).exists());
+    assertEquals(0, journal.size());
+  }
+
+  /*
+  This method checks that a record cut off by a crash is not replayed
+  @name ignoresCutOffRecord
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  @Test
+  public void ignoresCutOffRecord() throws IOException {
+    // Variables
+    Journal journal;
+
+    // The journal was started after classrooms.txt was last written, and its only record has no line break
+    write(journalFile, "2\nGRADE 100000 1234");
+    journal = new Journal(journalFile, checkpointFile, commit(2));
+
+    journal.replay(null);
+
+    assertTrue(new File(journalFile).exists());
+    assertEquals(0, journal.size());
+  }
+
+  /*
+  This method commits a generation holding classrooms.txt and returns the manifest
+  @name commit
+  @date 1/24/2024
+  @parameters long
+  @returns Manifest
+  */
+  private Manifest commit(long generation) throws IOException {
+    // Variables
+    Manifest manifest = new Manifest(manifestFile);
+
+    write(checkpointFile, "");
+    manifest.commit(generation, new ArrayList<String>(Arrays.asList(checkpointFile)));
+    return manifest;
+  }
+
+  /*
+  This method reads the lines of the journal
+  @name lines
+  @date 1/24/2024
+  @parameters void
+  @returns List<String>
+  */
+  private List<String> lines() throws IOException {
+    return Files.readAllLines(new File(journalFile).toPath(), StandardCharsets.UTF_8);
+  }
+
+  /*
+  This method writes a file
+  @name write
+  @date 1/24/2024
+  @parameters String, String
+  @returns void
+  */
+  private static void write(String file, String content) throws IOException {
+    Files.write(new File(file).toPath(), content.getBytes(StandardCharsets.UTF_8));
+  }
+}
\ No newline at end of file
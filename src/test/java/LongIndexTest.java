@@ -0,0 +1,163 @@
+/*
+@file LongIndexTest.java
+@author Ronak Patel
+@date 1/24/2024
+@description This class tests the LongIndex. Random operations are checked against a HashMap, with ids from a small range so probe runs are long and removals shift entries back often.
+*/
+
+// Imports
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Random;
+import org.junit.Test;
+
+// LongIndexTest class
+public class LongIndexTest {
+
+  /*
+  This method checks putting, replacing, getting and removing ids, including zero, negative and extreme ids
+  @name putsAndRemoves
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  @Test
+  public void putsAndRemoves() {
+    // Variables
+    LongIndex<String> index = new LongIndex<String>();
+    long[] keys = {0, -1, 1, Long.MIN_VALUE, Long.MAX_VALUE, 1L << 32};
+
+    for (long key : keys) {
+      index.put(key, "v" + key);
+    }
+    assertEquals(keys.length, index.size());
+    for (long key : keys) {
+      assertEquals("v" + key, index.get(key));
+      assertTrue(index.containsKey(key));
+    }
+
+    // Replacing keeps the size
+    index.put(0, "zero");
+    assertEquals(keys.length, index.size());
+    assertEquals("zero", index.get(0));
+
+    // Removing
+    assertEquals("zero", index.remove(0));
+    assertNull(index.remove(0));
+    assertNull(index.get(0));
+    assertFalse(index.containsKey(0));
+    assertEquals(keys.length - 1, index.size());
+
+    // Clearing
+    index.clear();
+    assertEquals(0, index.size());
+    assertNull(index.get(-1));
+  }
+
+  /*
+  This method checks that a null value is rejected, since null marks an empty slot
+  @name rejectsNull
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsNull() {
+    new LongIndex<String>().put(1, null);
+  }
+
+  /*
+  This method checks that every entry is kept while the table grows from its smallest size
+  @name growsWithoutLosingEntries
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  @Test
+  public void growsWithoutLosingEntries() {
+    // Variables
+    LongIndex<Long> index = new LongIndex<Long>(1);
+
+    for (long key = 0; key < 10000; key++) {
+      index.put(key * 1024, key);
+    }
+    assertEquals(10000, index.size());
+    for (long key = 0; key < 10000; key++) {
+      assertEquals(Long.valueOf(key), index.get(key * 1024));
+    }
+  }
+
+  /*
+  This method checks that removing entries in any order leaves every other entry reachable
+  @name removalKeepsProbeRuns
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  @Test
+  public void removalKeepsProbeRuns() {
+    // Variables
+    LongIndex<Long> index = new LongIndex<Long>();
+    ArrayList<Long> keys = new ArrayList<Long>();
+
+    for (long key = 0; key < 2000; key++) {
+      keys.add(key);
+      index.put(key, key);
+    }
+    Collections.shuffle(keys, new Random(7));
+
+    // Remove one at a time and check everything left
+    for (int i = 0; i < keys.size(); i++) {
+      assertEquals(keys.get(i), index.remove(keys.get(i)));
+      if (i % 100 == 0) {
+        for (int j = i + 1; j < keys.size(); j++) {
+          assertEquals(keys.get(j), index.get(keys.get(j)));
+        }
+      }
+    }
+    assertEquals(0, index.size());
+  }
+
+  /*
+  This method checks random puts, gets and removes against a HashMap
+  @name matchesHashMap
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  @Test
+  public void matchesHashMap() {
+    // Variables
+    LongIndex<Integer> index = new LongIndex<Integer>();
+    HashMap<Long, Integer> expected = new HashMap<Long, Integer>();
+    Random random = new Random(42);
+
+    for (int step = 0; step < 200000; step++) {
+      long key = random.nextInt(300) - 150;
+      int op = random.nextInt(3);
+
+      if (op == 0) {
+        index.put(key, step);
+        expected.put(key, step);
+      }
+      else if (op == 1) {
+        assertEquals(expected.remove(key), index.remove(key));
+      }
+      else {
+        assertEquals(expected.get(key), index.get(key));
+      }
+      assertEquals(expected.size(), index.size());
+    }
+
+    // Compare every id at the end
+    for (long key = -150; key < 150; key++) {
+      assertEquals(expected.get(key), index.get(key));
+    }
+  }
+}
\ No newline at end of file
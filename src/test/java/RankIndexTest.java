@@ -0,0 +1,121 @@
+/*
+@file RankIndexTest.java
+@author Ronak Patel
+@date 1/24/2024
+@description This class tests the RankIndex. Random grade changes are checked against the students sorted by grade, highest first, with ties in order of id.
+*/
+
+// Imports
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Random;
+import org.junit.Test;
+
+// RankIndexTest class
+public class RankIndexTest {
+
+  /*
+  This method checks that students with the same grade share a rank and are listed in order of id
+  @name tiesShareRank
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  @Test
+  public void tiesShareRank() {
+    // Variables
+    RankIndex ranking = new RankIndex();
+
+    ranking.put(30, 80);
+    ranking.put(10, 90);
+    ranking.put(20, 80);
+    ranking.put(40, 70);
+
+    assertEquals(4, ranking.size());
+    assertEquals(1, ranking.rank(10));
+    assertEquals(2, ranking.rank(20));
+    assertEquals(2, ranking.rank(30));
+    assertEquals(4, ranking.rank(40));
+    assertEquals(-1, ranking.rank(50));
+    assertEquals(10, ranking.get(0));
+    assertEquals(20, ranking.get(1));
+    assertEquals(30, ranking.get(2));
+    assertEquals(70, ranking.getGrade(3), 0);
+  }
+
+  /*
+  This method checks that putting a student again moves it instead of adding it twice, and that removing it takes it out
+  @name putMovesAndRemoveDrops
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  @Test
+  public void putMovesAndRemoveDrops() {
+    // Variables
+    RankIndex ranking = new RankIndex();
+
+    ranking.put(1, 50);
+    ranking.put(2, 60);
+    ranking.put(1, 70);
+
+    assertEquals(2, ranking.size());
+    assertEquals(1, ranking.get(0));
+    assertEquals(70, ranking.getGrade(0), 0);
+
+    ranking.remove(1);
+    ranking.remove(3);
+    assertEquals(1, ranking.size());
+    assertEquals(-1, ranking.rank(1));
+    assertEquals(1, ranking.rank(2));
+
+    ranking.clear();
+    assertEquals(0, ranking.size());
+  }
+
+  /*
+  This method checks random puts and removes against a sorted list of every student
+  @name matchesSortedStudents
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  @Test
+  public void matchesSortedStudents() {
+    // Variables
+    RankIndex ranking = new RankIndex();
+    HashMap<Long, Double> grades = new HashMap<Long, Double>();
+    Random random = new Random(42);
+
+    for (int step = 0; step < 20000; step++) {
+      long id = random.nextInt(200);
+
+      // Few distinct grades so there are many ties
+      if (random.nextInt(4) > 0) {
+        double grade = random.nextInt(20) * 5;
+        ranking.put(id, grade);
+        grades.put(id, grade);
+      }
+      else {
+        ranking.remove(id);
+        grades.remove(id);
+      }
+
+      // Compare every position and rank now and then
+      if (step % 500 == 0) {
+        ArrayList<Long> sorted = new ArrayList<Long>(grades.keySet());
+        sorted.sort((a, b) -> grades.get(a).equals(grades.get(b)) ? Long.compare(a, b) : Double.compare(grades.get(b), grades.get(a)));
+        assertEquals(sorted.size(), ranking.size());
+        for (int i = 0; i < sorted.size(); i++) {
+          int rank = i + 1;
+          while (rank > 1 && grades.get(sorted.get(rank - 2)).equals(grades.get(sorted.get(i)))) rank--;
+          assertEquals((long) sorted.get(i), ranking.get(i));
+          assertEquals(grades.get(sorted.get(i)), ranking.getGrade(i), 0);
+          assertEquals(rank, ranking.rank(sorted.get(i)));
+        }
+      }
+    }
+  }
+}
\ No newline at end of file
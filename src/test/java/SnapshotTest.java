@@ -0,0 +1,256 @@
+/*
+@file SnapshotTest.java
+@author Ronak Patel
+@date 1/24/2024
+@description This class tests committing snapshots and recovering the manifest after a persist that stopped part way. A rename is made to fail by putting a directory where the real file goes.
+*/
+
+// Imports
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+// SnapshotTest class
+public class SnapshotTest {
+
+  // Folder for the files of each test
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  // Instance variables
+  private String manifestFile;
+  private String a;
+  private String b;
+
+  /*
+  This method names the files of a test inside its folder
+  @name setUp
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  @Before
+  public void setUp() {
+    manifestFile = new File(folder.getRoot(), "markbook.manifest").getPath();
+    a = new File(folder.getRoot(), "a.txt").getPath();
+    b = new File(folder.getRoot(), "b.txt").getPath();
+  }
+
+  /*
+  This method checks that a commit renames every file into place and leaves no temporary files
+  @name commitReplacesFiles
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  @Test
+  public void commitReplacesFiles() throws IOException {
+    // Variables
+    Manifest manifest = new Manifest(manifestFile);
+
+    commit(manifest, "a1", "b1");
+
+    assertEquals("a1", read(a));
+    assertEquals("b1", read(b));
+    assertEquals(1, manifest.getGeneration());
+    assertEquals(1, new Manifest(manifestFile).getGeneration(a));
+    assertEquals(3, folder.getRoot().list().length);
+  }
+
+  /*
+  This method checks that a generation whose rename failed after the commit point is kept and rolled forward by recover
+  @name failedRenameIsRolledForward
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  @Test
+  public void failedRenameIsRolledForward() throws IOException {
+    // Variables
+    Manifest manifest = new Manifest(manifestFile);
+    Snapshot snapshot;
+
+    commit(manifest, "a1", "b1");
+    blockRename(b);
+
+    // The rename of b fails after the manifest names generation 2
+    snapshot = write(manifest, "a2", "b2");
+    try {
+      snapshot.commit();
+      fail("Rename over a directory should fail");
+    }
+    catch (IOException e) {
+      assertTrue(snapshot.isCommitted());
+      snapshot.abort();
+    }
+    assertTrue(new File(Manifest.tmpName(b, 2)).exists());
+
+    // The next start finishes the generation
+    unblockRename(b);
+    new Manifest(manifestFile).recover();
+    assertEquals("a2", read(a));
+    assertEquals("b2", read(b));
+    assertFalse(new File(Manifest.tmpName(b, 2)).exists());
+  }
+
+  /*
+  This method checks that a file still waiting to be renamed is rolled forward even after a later generation that did not write it
+  @name pendingFileSurvivesLaterGeneration
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  @Test
+  public void pendingFileSurvivesLaterGeneration() throws IOException {
+    // Variables
+    Manifest manifest = new Manifest(manifestFile);
+    Snapshot snapshot;
+
+    // b is new in generation 1 and its rename fails
+    blockRename(b);
+    snapshot = write(manifest, "a1", "b1");
+    try {
+      snapshot.commit();
+      fail("Rename over a directory should fail");
+    }
+    catch (IOException e) {
+      snapshot.abort();
+    }
+    unblockRename(b);
+
+    // Generation 2 only writes a
+    snapshot = new Snapshot(manifest);
+    snapshot.open(a).writeLine("a2");
+    snapshot.commit();
+
+    new Manifest(manifestFile).recover();
+    assertEquals("a2", read(a));
+    assertEquals("b1", read(b));
+  }
+
+  /*
+  This method checks that aborting before the commit point keeps the old files and deletes the temporary ones
+  @name abortKeepsOldFiles
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  @Test
+  public void abortKeepsOldFiles() throws IOException {
+    // Variables
+    Manifest manifest = new Manifest(manifestFile);
+    Snapshot snapshot;
+
+    commit(manifest, "a1", "b1");
+    snapshot = write(manifest, "a2", "b2");
+    snapshot.abort();
+
+    assertFalse(snapshot.isCommitted());
+    assertEquals("a1", read(a));
+    assertEquals("b1", read(b));
+    assertEquals(3, folder.getRoot().list().length);
+  }
+
+  /*
+  This method checks that recover only deletes temporary files of files in the manifest
+  @name recoverOnlyDeletesListedFiles
+  @date 1/24/2024
+  @parameters void
+  @returns void
+  */
+  @Test
+  public void recoverOnlyDeletesListedFiles() throws IOException {
+    // Variables
+    Manifest manifest = new Manifest(manifestFile);
+    File uncommitted = new File(Manifest.tmpName(a, 7));
+    File other = new File(folder.getRoot(), "notes.txt.3.tmp");
+
+    commit(manifest, "a1", "b1");
+    Files.write(uncommitted.toPath(), "a7".getBytes(StandardCharsets.UTF_8));
+    Files.write(other.toPath(), "notes".getBytes(StandardCharsets.UTF_8));
+
+    new Manifest(manifestFile).recover();
+    assertFalse(uncommitted.exists());
+    assertTrue(other.exists());
+    assertEquals("a1", read(a));
+  }
+
+  /*
+  This method writes both files in a new snapshot without committing it
+  @name write
+  @date 1/24/2024
+  @parameters Manifest, String, String
+  @returns Snapshot
+  */
+  private Snapshot write(Manifest manifest, String aText, String bText) throws IOException {
+    // Variables
+    Snapshot snapshot = new Snapshot(manifest);
+    SnapshotWriter sw;
+
+    // Write each file
+    sw = snapshot.open(a);
+    sw.writeLine(aText);
+    sw.close();
+    sw = snapshot.open(b);
+    sw.writeLine(bText);
+    sw.close();
+    return snapshot;
+  }
+
+  /*
+  This method writes both files and commits them
+  @name commit
+  @date 1/24/2024
+  @parameters Manifest, String, String
+  @returns void
+  */
+  private void commit(Manifest manifest, String aText, String bText) throws IOException {
+    write(manifest, aText, bText).commit();
+  }
+
+  /*
+  This method puts a directory that is not empty where a file goes, so renaming over it fails
+  @name blockRename
+  @date 1/24/2024
+  @parameters String
+  @returns void
+  */
+  private void blockRename(String file) throws IOException {
+    new File(file).delete();
+    assertTrue(new File(file).mkdir());
+    assertTrue(new File(file, "x").createNewFile());
+  }
+
+  /*
+  This method removes the directory put in place of a file
+  @name unblockRename
+  @date 1/24/2024
+  @parameters String
+  @returns void
+  */
+  private void unblockRename(String file) {
+    new File(file, "x").delete();
+    new File(file).delete();
+  }
+
+  /*
+  This method reads a file without its line ending
+  @name read
+  @date 1/24/2024
+  @parameters String
+  @returns String
+  */
+  private static String read(String file) throws IOException {
+    return new String(Files.readAllBytes(new File(file).toPath()), StandardCharsets.UTF_8).trim();
+  }
+}
\ No newline at end of file